@@ -1,5 +1,7 @@
 package org.eclipse.cargotracker.application;
 
+import java.util.List;
+
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
@@ -19,4 +21,10 @@ public interface ApplicationEvents {
 	void cargoHasArrived(Cargo cargo);
 
 	void receivedHandlingEventRegistrationAttempt(HandlingEventRegistrationAttempt attempt);
+
+	/**
+	 * Publishes many attempts at once. Within a transaction they are sent
+	 * together when it commits.
+	 */
+	void receivedHandlingEventRegistrationAttempts(List<HandlingEventRegistrationAttempt> attempts);
 }
@@ -0,0 +1,28 @@
+package org.eclipse.cargotracker.application;
+
+import java.util.Set;
+
+import org.eclipse.cargotracker.domain.model.cargo.RoutingStatus;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
+
+public interface CargoStatisticsService {
+
+	/**
+	 * @return The number of cargo with exactly the given delivery status, in
+	 *         constant time.
+	 */
+	long countCargo(RoutingStatus routingStatus, TransportStatus transportStatus, boolean misdirected);
+
+	/**
+	 * @return The number of cargo in any of the given routing and any of the given
+	 *         transport statuses, misdirected or not.
+	 */
+	long countCargo(Set<RoutingStatus> routingStatuses, Set<TransportStatus> transportStatuses);
+
+	/**
+	 * Counts all cargo again, e.g. after cargo has been loaded without going
+	 * through the application services. Must run in the transaction that loaded
+	 * the cargo, or while no cargo changes.
+	 */
+	void recount();
+}
@@ -1,12 +1,14 @@
 package org.eclipse.cargotracker.application;
 
 import java.util.Date;
+import java.util.List;
 
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
 import org.eclipse.cargotracker.domain.model.handling.CannotCreateHandlingEventException;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.domain.model.location.UnLocode;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
 
 public interface HandlingEventService {
 
@@ -16,4 +18,12 @@ public interface HandlingEventService {
 	 */
 	void registerHandlingEvent(Date completionTime, TrackingId trackingId, VoyageNumber voyageNumber, UnLocode unLocode,
 			HandlingEvent.Type type) throws CannotCreateHandlingEventException;
+
+	/**
+	 * Registers the handling events of many attempts at once.
+	 *
+	 * @return The attempts that could not be registered, e.g. because of an
+	 *         unknown cargo, voyage or location.
+	 */
+	List<HandlingEventRegistrationAttempt> registerHandlingEvents(List<HandlingEventRegistrationAttempt> attempts);
 }
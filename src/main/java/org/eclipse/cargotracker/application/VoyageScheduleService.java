@@ -0,0 +1,13 @@
+package org.eclipse.cargotracker.application;
+
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+
+public interface VoyageScheduleService {
+
+	/**
+	 * Delays a voyage from the given port on, and publishes the changed schedule
+	 * to the routing graph once the change is committed.
+	 */
+	void delayDeparture(VoyageNumber voyageNumber, UnLocode unLocode, int minutes);
+}
@@ -0,0 +1,89 @@
+package org.eclipse.cargotracker.application.internal;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.eclipse.cargotracker.application.CargoInspectionService;
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+
+/**
+ * Collapses inspection requests for the same cargo that arrive within a short
+ * window, so that a burst of handling events leads to a single inspection.
+ * <p>
+ * Requests are stored as {@link PendingInspection} rows in the caller's
+ * transaction, so a request that was accepted survives a crash. Every node
+ * polls for cargo whose first request is older than the inspection delay. An
+ * inspection deletes the pending rows of its cargo before it reads the cargo,
+ * in one transaction: every deleted row was committed together with its
+ * handling event, so the inspection sees that event, and rows committed later
+ * stay for the next inspection. If the inspection fails its transaction rolls
+ * back, the rows come back and the inspection is retried later.
+ */
+@Stateless
+public class CargoInspectionCoalescer {
+
+	private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+	private static final int MAX_INSPECTIONS_PER_RUN = 100;
+
+	@Inject
+	private CargoInspectionService cargoInspectionService;
+	@Inject
+	private Logger logger;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Resource
+	private SessionContext sessionContext;
+	@Resource(lookup = "java:app/configuration/CargoInspectionDelay")
+	private long inspectionDelay;
+
+	public void requestInspection(TrackingId trackingId) {
+		entityManager.persist(
+				new PendingInspection(trackingId.getIdString(), new Date(System.currentTimeMillis() + inspectionDelay)));
+	}
+
+	@Schedule(second = "*", minute = "*", hour = "*", persistent = false)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void inspectDue() {
+		List<String> trackingIds = entityManager
+				.createNamedQuery("PendingInspection.findDueTrackingIds", String.class).setParameter("now", new Date())
+				.setMaxResults(MAX_INSPECTIONS_PER_RUN).getResultList();
+		CargoInspectionCoalescer self = sessionContext.getBusinessObject(CargoInspectionCoalescer.class);
+
+		for (String trackingId : trackingIds) {
+			try {
+				self.inspect(trackingId);
+			} catch (EJBException e) {
+				logger.log(Level.SEVERE, "Error inspecting cargo " + trackingId + ", retrying later", e);
+				self.postpone(trackingId);
+			}
+		}
+	}
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void inspect(String trackingId) {
+		entityManager.createNamedQuery("PendingInspection.deleteByTrackingId").setParameter("trackingId", trackingId)
+				.executeUpdate();
+		cargoInspectionService.inspectCargo(new TrackingId(trackingId));
+	}
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void postpone(String trackingId) {
+		entityManager.createNamedQuery("PendingInspection.postpone").setParameter("trackingId", trackingId)
+				.setParameter("due", new Date(System.currentTimeMillis() + RETRY_DELAY)).executeUpdate();
+	}
+}
@@ -0,0 +1,68 @@
+package org.eclipse.cargotracker.application.internal;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+import org.eclipse.cargotracker.domain.model.cargo.RoutingStatus;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
+
+/**
+ * The number of cargo with one combination of routing status, transport status
+ * and misdirected flag. Kept up to date after the transactions that change
+ * cargo delivery, so every node reads the same counts.
+ */
+@Entity
+@Table(name = "cargo_status_count")
+@NamedQueries({
+		@NamedQuery(name = "CargoStatusCount.move", query = "Update CargoStatusCount c set c.count = c.count + case when c.id = :current then 1 else -1 end where c.id in (:previous, :current)"),
+		@NamedQuery(name = "CargoStatusCount.countRows", query = "Select count(c) from CargoStatusCount c"),
+		@NamedQuery(name = "CargoStatusCount.sum", query = "Select sum(c.count) from CargoStatusCount c where c.routingStatus in :routingStatuses and c.transportStatus in :transportStatuses"),
+		@NamedQuery(name = "CargoStatusCount.deleteAll", query = "Delete from CargoStatusCount c") })
+public class CargoStatusCount implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Integer id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "routing_status")
+	@NotNull
+	private RoutingStatus routingStatus;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "transport_status")
+	@NotNull
+	private TransportStatus transportStatus;
+
+	private boolean misdirected;
+
+	@Column(name = "cargo_count")
+	private long count;
+
+	public CargoStatusCount() {
+		// Nothing to initialize.
+	}
+
+	public CargoStatusCount(int id, RoutingStatus routingStatus, TransportStatus transportStatus,
+			boolean misdirected, long count) {
+		this.id = id;
+		this.routingStatus = routingStatus;
+		this.transportStatus = transportStatus;
+		this.misdirected = misdirected;
+		this.count = count;
+	}
+
+	public long getCount() {
+		return count;
+	}
+}
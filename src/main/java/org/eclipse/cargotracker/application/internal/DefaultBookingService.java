@@ -7,11 +7,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jakarta.ejb.Stateless;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 
 import org.eclipse.cargotracker.application.BookingService;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.Delivery;
 import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
 import org.eclipse.cargotracker.domain.model.cargo.RouteSpecification;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
@@ -31,6 +33,8 @@ public class DefaultBookingService implements BookingService {
 	@Inject
 	private RoutingService routingService;
 	@Inject
+	private Event<DeliveryStatusChange> deliveryStatusChange;
+	@Inject
 	private Logger logger;
 
 	@Override
@@ -43,6 +47,7 @@ public class DefaultBookingService implements BookingService {
 		Cargo cargo = new Cargo(trackingId, routeSpecification);
 
 		cargoRepository.store(cargo);
+		deliveryStatusChange.fire(new DeliveryStatusChange(null, cargo.getDelivery()));
 		logger.log(Level.INFO, "Booked new cargo with tracking ID {0}", cargo.getTrackingId().getIdString());
 
 		return cargo.getTrackingId();
@@ -63,8 +68,10 @@ public class DefaultBookingService implements BookingService {
 	public void assignCargoToRoute(Itinerary itinerary, TrackingId trackingId) {
 		Cargo cargo = cargoRepository.find(trackingId);
 
+		Delivery previous = cargo.getDelivery();
 		cargo.assignToRoute(itinerary);
 		cargoRepository.store(cargo);
+		deliveryStatusChange.fire(new DeliveryStatusChange(previous, cargo.getDelivery()));
 
 		logger.log(Level.INFO, "Assigned cargo {0} to new route", trackingId);
 	}
@@ -76,9 +83,11 @@ public class DefaultBookingService implements BookingService {
 
 		RouteSpecification routeSpecification = new RouteSpecification(cargo.getOrigin(), newDestination,
 				cargo.getRouteSpecification().getArrivalDeadline());
+		Delivery previous = cargo.getDelivery();
 		cargo.specifyNewRoute(routeSpecification);
 
 		cargoRepository.store(cargo);
+		deliveryStatusChange.fire(new DeliveryStatusChange(previous, cargo.getDelivery()));
 
 		logger.log(Level.INFO, "Changed destination for cargo {0} to {1}",
 				new Object[] { trackingId, routeSpecification.getDestination() });
@@ -90,9 +99,11 @@ public class DefaultBookingService implements BookingService {
 
 		RouteSpecification routeSpecification = new RouteSpecification(cargo.getOrigin(),
 				cargo.getRouteSpecification().getDestination(), newDeadline);
+		Delivery previous = cargo.getDelivery();
 		cargo.specifyNewRoute(routeSpecification);
 
 		cargoRepository.store(cargo);
+		deliveryStatusChange.fire(new DeliveryStatusChange(previous, cargo.getDelivery()));
 
 		logger.log(Level.INFO, "Changed deadline for cargo {0} to {1}", new Object[] { trackingId, newDeadline });
 	}
@@ -11,7 +11,9 @@ import org.eclipse.cargotracker.application.ApplicationEvents;
 import org.eclipse.cargotracker.application.CargoInspectionService;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.Delivery;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
 import org.eclipse.cargotracker.domain.model.handling.HandlingHistory;
 import org.eclipse.cargotracker.infrastructure.events.cdi.CargoInspected;
@@ -31,6 +33,9 @@ public class DefaultCargoInspectionService implements CargoInspectionService {
 	@CargoInspected
 	private Event<Cargo> cargoInspected;
 
+	@Inject
+	private Event<DeliveryStatusChange> deliveryStatusChange;
+
 	@Inject
 	private Logger logger;
 
@@ -43,9 +48,14 @@ public class DefaultCargoInspectionService implements CargoInspectionService {
 			return;
 		}
 
-		HandlingHistory handlingHistory = handlingEventRepository.lookupHandlingHistoryOfCargo(trackingId);
+		Delivery previous = cargo.getDelivery();
+		HandlingEvent lastEvent = handlingEventRepository.lookupMostRecentlyCompletedEvent(trackingId);
 
-		cargo.deriveDeliveryProgress(handlingHistory);
+		if (lastEvent == null || !cargo.deriveDeliveryProgress(lastEvent)) {
+			// Out of order, replay the complete history.
+			HandlingHistory handlingHistory = handlingEventRepository.lookupHandlingHistoryOfCargo(trackingId);
+			cargo.deriveDeliveryProgress(handlingHistory);
+		}
 
 		if (cargo.getDelivery().isMisdirected()) {
 			applicationEvents.cargoWasMisdirected(cargo);
@@ -56,6 +66,7 @@ public class DefaultCargoInspectionService implements CargoInspectionService {
 		}
 
 		cargoRepository.store(cargo);
+		deliveryStatusChange.fire(new DeliveryStatusChange(previous, cargo.getDelivery()));
 
 		cargoInspected.fire(cargo);
 	}
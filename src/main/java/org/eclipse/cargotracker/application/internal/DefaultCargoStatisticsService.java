@@ -0,0 +1,124 @@
+package org.eclipse.cargotracker.application.internal;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+
+import org.eclipse.cargotracker.application.CargoStatisticsService;
+import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.Delivery;
+import org.eclipse.cargotracker.domain.model.cargo.RoutingStatus;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
+
+/**
+ * Keeps a counter per routing status, transport status and misdirected flag in
+ * the <code>cargo_status_count</code> table, shared by all nodes. A delivery
+ * status change moves the cargo between counters in one statement, in a short
+ * transaction of its own after the change of the cargo has committed, so cargo
+ * transactions never wait on the counter rows. Concurrent changes of the same
+ * cargo are caught by its optimistic lock, so its old status is never
+ * decremented twice. A change that fails to be counted is fixed by the next
+ * recount.
+ */
+@ApplicationScoped
+public class DefaultCargoStatisticsService implements CargoStatisticsService, Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private static final int TRANSPORT_STATUSES = TransportStatus.values().length;
+
+	@Inject
+	private Logger logger;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Inject
+	private CargoRepository cargoRepository;
+
+	@Override
+	public long countCargo(RoutingStatus routingStatus, TransportStatus transportStatus, boolean misdirected) {
+		CargoStatusCount count = entityManager.find(CargoStatusCount.class,
+				index(routingStatus, transportStatus, misdirected));
+
+		return count == null ? 0 : count.getCount();
+	}
+
+	@Override
+	public long countCargo(Set<RoutingStatus> routingStatuses, Set<TransportStatus> transportStatuses) {
+		Number count = entityManager.createNamedQuery("CargoStatusCount.sum", Number.class)
+				.setParameter("routingStatuses", routingStatuses)
+				.setParameter("transportStatuses", transportStatuses).getSingleResult();
+
+		return count == null ? 0 : count.longValue();
+	}
+
+	@Override
+	public void recount() {
+		entityManager.createNamedQuery("CargoStatusCount.deleteAll").executeUpdate();
+
+		long[] counts = new long[RoutingStatus.values().length * TRANSPORT_STATUSES * 2];
+		cargoRepository.countByStatus((routingStatus, transportStatus, misdirected,
+				count) -> counts[index(routingStatus, transportStatus, misdirected)] += count);
+
+		// Every combination gets a row, so that changes only ever update.
+		for (RoutingStatus routingStatus : RoutingStatus.values()) {
+			for (TransportStatus transportStatus : TransportStatus.values()) {
+				for (boolean misdirected : new boolean[] { false, true }) {
+					int index = index(routingStatus, transportStatus, misdirected);
+					entityManager.persist(new CargoStatusCount(index, routingStatus, transportStatus, misdirected,
+							counts[index]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts the cargo on startup unless another node or the sample data already
+	 * did, as changes only ever update existing counters.
+	 */
+	@Transactional
+	public void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+		if (entityManager.createNamedQuery("CargoStatusCount.countRows", Long.class).getSingleResult() == 0) {
+			logger.info("Counting cargo by delivery status.");
+			recount();
+		}
+	}
+
+	@Transactional(TxType.REQUIRES_NEW)
+	public void onDeliveryStatusChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) DeliveryStatusChange change) {
+		int current = index(change.getCurrent());
+		// Without a previous status nothing is taken away, -1 matches no counter.
+		int previous = change.getPrevious() == null ? -1 : index(change.getPrevious());
+
+		if (previous == current) {
+			return;
+		}
+
+		try {
+			entityManager.createNamedQuery("CargoStatusCount.move").setParameter("previous", previous)
+					.setParameter("current", current).executeUpdate();
+		} catch (PersistenceException e) {
+			logger.log(Level.WARNING, "Cannot count delivery status change, the counts are off until a recount.", e);
+		}
+	}
+
+	private static int index(Delivery delivery) {
+		return index(delivery.getRoutingStatus(), delivery.getTransportStatus(), delivery.isMisdirected());
+	}
+
+	private static int index(RoutingStatus routingStatus, TransportStatus transportStatus, boolean misdirected) {
+		return (routingStatus.ordinal() * TRANSPORT_STATUSES + transportStatus.ordinal()) * 2 + (misdirected ? 1 : 0);
+	}
+}
@@ -1,6 +1,11 @@
 package org.eclipse.cargotracker.application.internal;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jakarta.ejb.Stateless;
@@ -15,6 +20,7 @@ import org.eclipse.cargotracker.domain.model.handling.HandlingEventFactory;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
 import org.eclipse.cargotracker.domain.model.location.UnLocode;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
 
 // TODO [Jakarta EE 8] Adopt the Date-Time API.
 @Stateless
@@ -55,4 +61,49 @@ public class DefaultHandlingEventService implements HandlingEventService {
 		logger.info("Registered handling event");
 	}
 
+	@Override
+	public List<HandlingEventRegistrationAttempt> registerHandlingEvents(
+			List<HandlingEventRegistrationAttempt> attempts) {
+		Date registrationTime = new Date();
+		Set<TrackingId> trackingIds = new HashSet<>();
+		Set<VoyageNumber> voyageNumbers = new HashSet<>();
+		Set<UnLocode> unLocodes = new HashSet<>();
+
+		for (HandlingEventRegistrationAttempt attempt : attempts) {
+			trackingIds.add(attempt.getTrackingId());
+			unLocodes.add(attempt.getUnLocode());
+
+			if (attempt.getVoyageNumber() != null) {
+				voyageNumbers.add(attempt.getVoyageNumber());
+			}
+		}
+
+		HandlingEventFactory.Batch factory = handlingEventFactory.forBatch(trackingIds, voyageNumbers, unLocodes);
+		List<HandlingEvent> events = new ArrayList<>(attempts.size());
+		List<HandlingEventRegistrationAttempt> rejected = new ArrayList<>();
+
+		for (HandlingEventRegistrationAttempt attempt : attempts) {
+			try {
+				events.add(factory.createHandlingEvent(registrationTime, attempt.getCompletionTime(),
+						attempt.getTrackingId(), attempt.getVoyageNumber(), attempt.getUnLocode(),
+						attempt.getType()));
+			} catch (CannotCreateHandlingEventException e) {
+				logger.log(Level.WARNING, "Rejected handling event registration attempt " + attempt, e);
+				rejected.add(attempt);
+			}
+		}
+
+		// Inserted together as a JDBC batch when the transaction commits.
+		for (HandlingEvent event : events) {
+			handlingEventRepository.store(event);
+		}
+
+		for (HandlingEvent event : events) {
+			applicationEvents.cargoWasHandled(event);
+		}
+
+		logger.log(Level.INFO, "Registered {0} handling events", events.size());
+
+		return rejected;
+	}
 }
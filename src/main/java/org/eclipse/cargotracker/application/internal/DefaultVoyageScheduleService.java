@@ -0,0 +1,38 @@
+package org.eclipse.cargotracker.application.internal;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+
+import org.eclipse.cargotracker.application.VoyageScheduleService;
+import org.eclipse.cargotracker.domain.model.location.Location;
+import org.eclipse.cargotracker.domain.model.location.LocationRepository;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.Voyage;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
+
+@Stateless
+public class DefaultVoyageScheduleService implements VoyageScheduleService {
+
+	@Inject
+	private VoyageRepository voyageRepository;
+	@Inject
+	private LocationRepository locationRepository;
+	@Inject
+	private Logger logger;
+
+	@Override
+	public void delayDeparture(VoyageNumber voyageNumber, UnLocode unLocode, int minutes) {
+		Voyage voyage = voyageRepository.find(voyageNumber);
+		Location location = locationRepository.find(unLocode);
+
+		voyage.delayDeparture(location, minutes);
+		voyageRepository.store(voyage);
+
+		logger.log(Level.INFO, "Delayed voyage {0} from {1} by {2} minutes",
+				new Object[] { voyageNumber.getIdString(), unLocode.getIdString(), minutes });
+	}
+}
@@ -0,0 +1,29 @@
+package org.eclipse.cargotracker.application.internal;
+
+import org.eclipse.cargotracker.domain.model.cargo.Delivery;
+
+/**
+ * Fired when the delivery of a cargo has been recalculated, so that the
+ * statistics can move it from its old status to its new one.
+ */
+public class DeliveryStatusChange {
+
+	private final Delivery previous;
+	private final Delivery current;
+
+	/**
+	 * @param previous Null for newly booked cargo.
+	 */
+	public DeliveryStatusChange(Delivery previous, Delivery current) {
+		this.previous = previous;
+		this.current = current;
+	}
+
+	public Delivery getPrevious() {
+		return previous;
+	}
+
+	public Delivery getCurrent() {
+		return current;
+	}
+}
@@ -0,0 +1,53 @@
+package org.eclipse.cargotracker.application.internal;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A requested cargo inspection that has not run yet. One row is written per
+ * request, in the transaction that consumes the request, and all rows of a
+ * cargo are deleted in the transaction of its inspection.
+ */
+@Entity
+@Table(name = "pending_inspection", indexes = @Index(name = "pending_inspection_due", columnList = "due"))
+@NamedQueries({
+		@NamedQuery(name = "PendingInspection.findDueTrackingIds", query = "Select distinct p.trackingId from PendingInspection p where p.due <= :now"),
+		@NamedQuery(name = "PendingInspection.deleteByTrackingId", query = "Delete from PendingInspection p where p.trackingId = :trackingId"),
+		@NamedQuery(name = "PendingInspection.postpone", query = "Update PendingInspection p set p.due = :due where p.trackingId = :trackingId") })
+public class PendingInspection implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	@Column(name = "tracking_id")
+	@NotNull
+	private String trackingId;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@NotNull
+	private Date due;
+
+	public PendingInspection() {
+		// Nothing to initialize.
+	}
+
+	public PendingInspection(String trackingId, Date due) {
+		this.trackingId = trackingId;
+		this.due = due;
+	}
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import jakarta.annotation.PostConstruct;
+import org.eclipse.cargotracker.application.CargoStatisticsService;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
 import org.eclipse.cargotracker.domain.model.cargo.Leg;
@@ -26,6 +27,7 @@ import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
 import org.eclipse.cargotracker.domain.model.handling.HandlingHistory;
 import org.eclipse.cargotracker.domain.model.location.SampleLocations;
 import org.eclipse.cargotracker.domain.model.voyage.SampleVoyages;
+import org.eclipse.cargotracker.domain.model.voyage.Voyage;
 import org.joda.time.LocalDate;
 
 /**
@@ -35,6 +37,9 @@ import org.joda.time.LocalDate;
 @Startup
 public class SampleDataGenerator {
 
+	// The first day of the published sample voyage schedules.
+	private static final Date SCHEDULE_START = DateUtil.toDate("2013-10-01");
+
 	@Inject
 	private Logger logger;
 
@@ -44,6 +49,8 @@ public class SampleDataGenerator {
 	private HandlingEventFactory handlingEventFactory;
 	@Inject
 	private HandlingEventRepository handlingEventRepository;
+	@Inject
+	private CargoStatisticsService cargoStatisticsService;
 
 	@PostConstruct
 	@TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -54,6 +61,8 @@ public class SampleDataGenerator {
 		loadSampleLocations();
 		loadSampleVoyages();
 		loadSampleCargos();
+		// The sample cargo is persisted directly, not booked.
+		cargoStatisticsService.recount();
 	}
 
 	private void unLoadAll() {
@@ -99,11 +108,16 @@ public class SampleDataGenerator {
 	private void loadSampleVoyages() {
 		logger.info("Loading sample voyages.");
 
-		entityManager.persist(SampleVoyages.HONGKONG_TO_NEW_YORK);
-		entityManager.persist(SampleVoyages.NEW_YORK_TO_DALLAS);
-		entityManager.persist(SampleVoyages.DALLAS_TO_HELSINKI);
-		entityManager.persist(SampleVoyages.HELSINKI_TO_HONGKONG);
-		entityManager.persist(SampleVoyages.DALLAS_TO_HELSINKI_ALT);
+		// Like the sample cargo, the schedules are moved to start tomorrow,
+		// otherwise the path-finder would never find a departure in the future.
+		int minutes = (int) ((LocalDate.now().plusDays(1).toDate().getTime() - SCHEDULE_START.getTime()) / 60_000);
+
+		for (Voyage voyage : Arrays.asList(SampleVoyages.HONGKONG_TO_NEW_YORK, SampleVoyages.NEW_YORK_TO_DALLAS,
+				SampleVoyages.DALLAS_TO_HELSINKI, SampleVoyages.HELSINKI_TO_HONGKONG,
+				SampleVoyages.DALLAS_TO_HELSINKI_ALT)) {
+			voyage.delayDeparture(voyage.getSchedule().getCarrierMovements().get(0).getDepartureLocation(), minutes);
+			entityManager.persist(voyage);
+		}
 	}
 
 	private void loadSampleCargos() {
@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Version;
 
 import org.apache.commons.lang3.Validate;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
@@ -56,8 +57,14 @@ import org.eclipse.cargotracker.domain.shared.DomainObjectUtils;
  */
 @Entity
 // TODO [Jakarta EE 8] Apply repeatable annotations.
-@NamedQueries({ @NamedQuery(name = "Cargo.findAll", query = "Select c from Cargo c"),
-		@NamedQuery(name = "Cargo.findByTrackingId", query = "Select c from Cargo c where c.trackingId = :trackingId") })
+@NamedQueries({
+		@NamedQuery(name = "Cargo.findAllAfter", query = "Select c from Cargo c where c.trackingId.id > :after order by c.trackingId.id"),
+		@NamedQuery(name = "Cargo.findTrackingIdsByPrefix", query = "Select c.trackingId.id from Cargo c where c.trackingId.id like :prefix escape '\\' order by c.trackingId.id"),
+		@NamedQuery(name = "Cargo.findRoutedUnclaimedTrackingIdsByPrefix", query = "Select c.trackingId.id from Cargo c where c.trackingId.id like :prefix escape '\\' and c.delivery.routingStatus <> :notRouted and c.delivery.transportStatus <> :claimed order by c.trackingId.id"),
+		@NamedQuery(name = "Cargo.countGroupedByStatus", query = "Select c.delivery.routingStatus, c.delivery.transportStatus, c.delivery.misdirected, count(c) from Cargo c group by c.delivery.routingStatus, c.delivery.transportStatus, c.delivery.misdirected"),
+		@NamedQuery(name = "Cargo.findByTrackingId", query = "Select c from Cargo c where c.trackingId = :trackingId"),
+		@NamedQuery(name = "Cargo.findByTrackingIds", query = "Select c from Cargo c where c.trackingId.id in :trackingIds"),
+		@NamedQuery(name = "Cargo.findTrackingIdsRequiringRerouting", query = "Select c.trackingId from Cargo c where c.delivery.misdirected = true or c.delivery.routingStatus = :routingStatus order by c.trackingId.id") })
 public class Cargo implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -65,6 +72,9 @@ public class Cargo implements Serializable {
 	@Id
 	@GeneratedValue
 	private Long id;
+	// Concurrent delivery updates must not both count the same old status.
+	@Version
+	private Long version;
 	@Embedded
 	private TrackingId trackingId;
 	@ManyToOne
@@ -165,6 +175,27 @@ public class Cargo implements Serializable {
 		this.delivery = Delivery.derivedFrom(getRouteSpecification(), getItinerary(), handlingHistory);
 	}
 
+	/**
+	 * Updates the cargo aggregate status with a single new handling event, at a
+	 * cost independent of the length of the handling history.
+	 *
+	 * @param handlingEvent the new handling event
+	 * @return False if the event was completed before the last event the delivery
+	 *         is based on. The status is then left unchanged and has to be derived
+	 *         from the complete handling history.
+	 * @see #deriveDeliveryProgress(HandlingHistory)
+	 */
+	public boolean deriveDeliveryProgress(HandlingEvent handlingEvent) {
+		Delivery updated = delivery.updateOnHandling(handlingEvent, getRouteSpecification(), getItinerary());
+
+		if (updated == null) {
+			return false;
+		}
+
+		this.delivery = updated;
+		return true;
+	}
+
 	/**
 	 * @param object to compare
 	 * @return True if they have the same identity
@@ -1,12 +1,81 @@
 package org.eclipse.cargotracker.domain.model.cargo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CargoRepository {
 
+	/**
+	 * What cargo can be ordered by when paging through it by status.
+	 */
+	enum SortKey {
+		TRACKING_ID, ORIGIN, DESTINATION, ARRIVAL_DEADLINE, LAST_KNOWN_LOCATION, TRANSPORT_STATUS
+	}
+
+	/**
+	 * Receives the number of cargo per delivery status.
+	 */
+	@FunctionalInterface
+	interface StatusCountConsumer {
+
+		void accept(RoutingStatus routingStatus, TransportStatus transportStatus, boolean misdirected, long count);
+	}
+
 	Cargo find(TrackingId trackingId);
 
-	List<Cargo> findAll();
+	/**
+	 * Finds all the given cargo in a single query. Unknown tracking IDs are
+	 * skipped.
+	 */
+	List<Cargo> find(Collection<TrackingId> trackingIds);
+
+	/**
+	 * Keyset pagination over all cargo, ordered by tracking ID.
+	 *
+	 * @param after The last tracking ID of the previous page, or null for the
+	 *              first page.
+	 */
+	List<Cargo> findAll(TrackingId after, int maxResults);
+
+	/**
+	 * @return At most the given number of tracking IDs starting with the prefix,
+	 *         in order. Only the IDs are loaded, not the cargo.
+	 */
+	List<String> findTrackingIdsStartingWith(String prefix, int maxResults);
+
+	/**
+	 * Like {@link #findTrackingIdsStartingWith}, but only for cargo that has been
+	 * routed and is not claimed yet, i.e. can still be handled.
+	 */
+	List<String> findRoutedUnclaimedTrackingIdsStartingWith(String prefix, int maxResults);
+
+	/**
+	 * Counts all cargo grouped by routing status, transport status and
+	 * misdirected flag, in a single query.
+	 */
+	void countByStatus(StatusCountConsumer consumer);
+
+	/**
+	 * A page of the cargo in any of the given routing and any of the given
+	 * transport statuses. Ties in the sort key are broken by tracking ID.
+	 */
+	List<Cargo> find(Set<RoutingStatus> routingStatuses, Set<TransportStatus> transportStatuses, SortKey sortKey,
+			boolean ascending, int firstResult, int maxResults);
+
+	/**
+	 * Streams all cargo ordered by tracking ID, fetching a page at a time. Cargo
+	 * of a page is detached once the stream moves past it, so memory stays bounded
+	 * as long as the caller does not hold on to it either. Outside a transaction
+	 * every page is read on its own and is detached from the start.
+	 */
+	Stream<Cargo> streamAll();
+
+	/**
+	 * @return The tracking IDs of all misdirected or misrouted cargo.
+	 */
+	List<TrackingId> findTrackingIdsRequiringRerouting();
 
 	void store(Cargo cargo);
 
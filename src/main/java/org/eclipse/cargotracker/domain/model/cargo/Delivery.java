@@ -105,6 +105,26 @@ public class Delivery implements Serializable {
 		return new Delivery(this.lastEvent, itinerary, routeSpecification);
 	}
 
+	/**
+	 * Creates a new delivery snapshot from this one and a single new handling
+	 * event, without looking at the rest of the handling history.
+	 *
+	 * @return An up to date delivery, or null if the event was completed before
+	 *         the last event of this snapshot, in which case the delivery has to
+	 *         be derived from the complete handling history.
+	 */
+	Delivery updateOnHandling(HandlingEvent handlingEvent, RouteSpecification routeSpecification,
+			Itinerary itinerary) {
+		Validate.notNull(handlingEvent, "Handling event is required");
+		Validate.notNull(routeSpecification, "Route specification is required");
+
+		if (lastEvent != null && handlingEvent.getCompletionTime().before(lastEvent.getCompletionTime())) {
+			return null;
+		}
+
+		return new Delivery(handlingEvent, itinerary, routeSpecification);
+	}
+
 	/**
 	 * Creates a new delivery snapshot based on the complete handling history of a
 	 * cargo, as well as its route specification and itinerary.
@@ -9,9 +9,12 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.Transient;
@@ -45,7 +48,12 @@ import org.eclipse.cargotracker.domain.shared.DomainObjectUtils;
  * {@link Type#CUSTOMS}.
  */
 @Entity
-@NamedQuery(name = "HandlingEvent.findByTrackingId", query = "Select e from HandlingEvent e where e.cargo.trackingId = :trackingId")
+// Serves the history of a cargo, most recent first, straight from the index.
+@Table(indexes = @Index(name = "handling_event_cargo_completion", columnList = "cargo_id, completionTime DESC"))
+@NamedQueries({
+		@NamedQuery(name = "HandlingEvent.findByTrackingId", query = "Select e from HandlingEvent e where e.cargo.trackingId = :trackingId"),
+		@NamedQuery(name = "HandlingEvent.findByTrackingIdMostRecentFirst", query = "Select e from HandlingEvent e where e.cargo.trackingId = :trackingId order by e.completionTime desc, e.id desc"),
+		@NamedQuery(name = "HandlingEvent.findByTrackingIdInCompletionOrder", query = "Select e from HandlingEvent e where e.cargo.trackingId = :trackingId order by e.completionTime, e.id") })
 public class HandlingEvent implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -1,7 +1,10 @@
 package org.eclipse.cargotracker.domain.model.handling;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -49,6 +52,40 @@ public class HandlingEventFactory implements Serializable {
 		Voyage voyage = findVoyage(voyageNumber);
 		Location location = findLocation(unlocode);
 
+		return newHandlingEvent(cargo, completionTime, registrationTime, type, location, voyage);
+	}
+
+	/**
+	 * Resolves the cargo, voyages and locations of many events up front, with one
+	 * query per type.
+	 *
+	 * @return A factory for events that only refer to the resolved entities.
+	 */
+	public Batch forBatch(Collection<TrackingId> trackingIds, Collection<VoyageNumber> voyageNumbers,
+			Collection<UnLocode> unlocodes) {
+		Map<TrackingId, Cargo> cargos = new HashMap<>();
+
+		for (Cargo cargo : cargoRepository.find(trackingIds)) {
+			cargos.put(cargo.getTrackingId(), cargo);
+		}
+
+		Map<VoyageNumber, Voyage> voyages = new HashMap<>();
+
+		for (Voyage voyage : voyageRepository.find(voyageNumbers)) {
+			voyages.put(voyage.getVoyageNumber(), voyage);
+		}
+
+		Map<UnLocode, Location> locations = new HashMap<>();
+
+		for (Location location : locationRepository.find(unlocodes)) {
+			locations.put(location.getUnLocode(), location);
+		}
+
+		return new Batch(cargos, voyages, locations);
+	}
+
+	private static HandlingEvent newHandlingEvent(Cargo cargo, Date completionTime, Date registrationTime,
+			HandlingEvent.Type type, Location location, Voyage voyage) throws CannotCreateHandlingEventException {
 		try {
 			if (voyage == null) {
 				return new HandlingEvent(cargo, completionTime, registrationTime, type, location);
@@ -93,4 +130,53 @@ public class HandlingEventFactory implements Serializable {
 
 		return location;
 	}
+
+	/**
+	 * Creates handling events from entities resolved in bulk.
+	 */
+	public static class Batch {
+
+		private final Map<TrackingId, Cargo> cargos;
+		private final Map<VoyageNumber, Voyage> voyages;
+		private final Map<UnLocode, Location> locations;
+
+		private Batch(Map<TrackingId, Cargo> cargos, Map<VoyageNumber, Voyage> voyages,
+				Map<UnLocode, Location> locations) {
+			this.cargos = cargos;
+			this.voyages = voyages;
+			this.locations = locations;
+		}
+
+		/**
+		 * @see HandlingEventFactory#createHandlingEvent(Date, Date, TrackingId,
+		 *      VoyageNumber, UnLocode, HandlingEvent.Type)
+		 */
+		public HandlingEvent createHandlingEvent(Date registrationTime, Date completionTime, TrackingId trackingId,
+				VoyageNumber voyageNumber, UnLocode unlocode, HandlingEvent.Type type)
+				throws CannotCreateHandlingEventException {
+			Cargo cargo = cargos.get(trackingId);
+
+			if (cargo == null) {
+				throw new UnknownCargoException(trackingId);
+			}
+
+			Voyage voyage = null;
+
+			if (voyageNumber != null) {
+				voyage = voyages.get(voyageNumber);
+
+				if (voyage == null) {
+					throw new UnknownVoyageException(voyageNumber);
+				}
+			}
+
+			Location location = locations.get(unlocode);
+
+			if (location == null) {
+				throw new UnknownLocationException(unlocode);
+			}
+
+			return newHandlingEvent(cargo, completionTime, registrationTime, type, location, voyage);
+		}
+	}
 }
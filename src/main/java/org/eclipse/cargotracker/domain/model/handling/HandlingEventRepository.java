@@ -1,5 +1,8 @@
 package org.eclipse.cargotracker.domain.model.handling;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
 
 public interface HandlingEventRepository {
@@ -7,4 +10,29 @@ public interface HandlingEventRepository {
 	void store(HandlingEvent event);
 
 	HandlingHistory lookupHandlingHistoryOfCargo(TrackingId trackingId);
+
+	/**
+	 * @return The most recently completed handling event of a cargo, or null if it
+	 *         has not been handled yet.
+	 */
+	HandlingEvent lookupMostRecentlyCompletedEvent(TrackingId trackingId);
+
+	/**
+	 * @return At most the given number of the most recently completed handling
+	 *         events of a cargo, ordered by completion time.
+	 */
+	List<HandlingEvent> lookupMostRecentlyCompletedEvents(TrackingId trackingId, int maxResults);
+
+	/**
+	 * @return A page of the handling history of a cargo, ordered by completion
+	 *         time.
+	 */
+	List<HandlingEvent> lookupHandlingEvents(TrackingId trackingId, int firstResult, int maxResults);
+
+	/**
+	 * Streams the handling history of a cargo ordered by completion time, without
+	 * holding it in memory at once. Must be consumed and closed within the
+	 * calling transaction.
+	 */
+	Stream<HandlingEvent> streamHandlingEvents(TrackingId trackingId);
 }
@@ -36,18 +36,31 @@ public class HandlingHistory {
 		return Collections.unmodifiableList(ordered);
 	}
 
+	/**
+	 * @return The most recently completed of the distinct handling events, at
+	 *         most the given number, ordered by completion time.
+	 */
+	public List<HandlingEvent> getMostRecentDistinctEvents(int maxEvents) {
+		List<HandlingEvent> distinct = getDistinctEventsByCompletionTime();
+
+		return distinct.size() <= maxEvents ? distinct : distinct.subList(distinct.size() - maxEvents, distinct.size());
+	}
+
 	/**
 	 * @return Most recently completed event, or null if the delivery history is
 	 *         empty.
 	 */
 	public HandlingEvent getMostRecentlyCompletedEvent() {
-		List<HandlingEvent> distinctEvents = getDistinctEventsByCompletionTime();
+		// A single pass, duplicates do not matter here.
+		HandlingEvent mostRecent = null;
 
-		if (distinctEvents.isEmpty()) {
-			return null;
-		} else {
-			return distinctEvents.get(distinctEvents.size() - 1);
+		for (HandlingEvent event : handlingEvents) {
+			if (mostRecent == null || BY_COMPLETION_TIME_COMPARATOR.compare(event, mostRecent) >= 0) {
+				mostRecent = event;
+			}
 		}
+
+		return mostRecent;
 	}
 
 	private boolean sameValueAs(HandlingHistory other) {
@@ -2,6 +2,7 @@ package org.eclipse.cargotracker.domain.model.location;
 
 import java.io.Serializable;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -19,8 +20,11 @@ import org.apache.commons.lang3.Validate;
  * It is uniquely identified by a UN location code.
  */
 @Entity
+// Reference data, served from the shared cache.
+@Cacheable
 @NamedQueries({ @NamedQuery(name = "Location.findAll", query = "Select l from Location l"),
-		@NamedQuery(name = "Location.findByUnLocode", query = "Select l from Location l where l.unLocode = :unLocode") })
+		@NamedQuery(name = "Location.findByUnLocode", query = "Select l from Location l where l.unLocode = :unLocode"),
+		@NamedQuery(name = "Location.findByUnLocodes", query = "Select l from Location l where l.unLocode.unlocode in :unLocodes") })
 public class Location implements Serializable {
 
 	private static final long serialVersionUID = 1L;
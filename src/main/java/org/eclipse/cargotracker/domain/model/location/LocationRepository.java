@@ -1,10 +1,17 @@
 package org.eclipse.cargotracker.domain.model.location;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LocationRepository {
 
 	Location find(UnLocode unLocode);
 
+	/**
+	 * Finds all the given locations in a single query. Unknown UN/LOCODEs are
+	 * skipped.
+	 */
+	List<Location> find(Collection<UnLocode> unLocodes);
+
 	List<Location> findAll();
 }
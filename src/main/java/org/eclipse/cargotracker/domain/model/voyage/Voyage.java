@@ -11,8 +11,11 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+// Reference data, served from the shared cache.
+@Cacheable
 @NamedQueries({
 		@NamedQuery(name = "Voyage.findByVoyageNumber", query = "Select v from Voyage v where v.voyageNumber = :voyageNumber"),
+		@NamedQuery(name = "Voyage.findByVoyageNumbers", query = "Select v from Voyage v where v.voyageNumber.number in :voyageNumbers"),
 		@NamedQuery(name = "Voyage.findAll", query = "Select v from Voyage v order by v.voyageNumber") })
 
 public class Voyage implements Serializable {
@@ -54,6 +57,36 @@ public class Voyage implements Serializable {
 		return schedule;
 	}
 
+	/**
+	 * Delays the departure from a location, and with it every later movement of
+	 * the voyage, by the given number of minutes.
+	 */
+	public void delayDeparture(Location location, int minutes) {
+		Validate.notNull(location, "Location is required");
+		Validate.isTrue(minutes > 0, "Delay must be positive");
+
+		long delay = minutes * 60_000L;
+		List<CarrierMovement> carrierMovements = new ArrayList<>();
+		boolean delayed = false;
+
+		for (CarrierMovement movement : schedule.getCarrierMovements()) {
+			delayed |= movement.getDepartureLocation().sameIdentityAs(location);
+
+			if (delayed) {
+				carrierMovements.add(new CarrierMovement(movement.getDepartureLocation(),
+						movement.getArrivalLocation(), new Date(movement.getDepartureTime().getTime() + delay),
+						new Date(movement.getArrivalTime().getTime() + delay)));
+			} else {
+				carrierMovements.add(movement);
+			}
+		}
+
+		Validate.isTrue(delayed, "Voyage %s does not depart from %s", voyageNumber.getIdString(),
+				location.getUnLocode().getIdString());
+
+		this.schedule = new Schedule(carrierMovements);
+	}
+
 	@Override
 	public int hashCode() {
 		return voyageNumber.hashCode();
@@ -1,10 +1,19 @@
 package org.eclipse.cargotracker.domain.model.voyage;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VoyageRepository {
 
 	Voyage find(VoyageNumber voyageNumber);
 
+	/**
+	 * Finds all the given voyages in a single query. Unknown voyage numbers are
+	 * skipped.
+	 */
+	List<Voyage> find(Collection<VoyageNumber> voyageNumbers);
+
 	List<Voyage> findAll();
+
+	void store(Voyage voyage);
 }
@@ -1,6 +1,11 @@
 package org.eclipse.cargotracker.domain.service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
 import org.eclipse.cargotracker.domain.model.cargo.RouteSpecification;
@@ -13,4 +18,37 @@ public interface RoutingService {
 	 *         list if no route is found.
 	 */
 	List<Itinerary> fetchRoutesForSpecification(RouteSpecification routeSpecification);
+
+	/**
+	 * Same as {@link #fetchRoutesForSpecification(RouteSpecification)}, without
+	 * blocking the calling thread while the routes are looked up. Implementations
+	 * that cannot do so fall back to the synchronous lookup.
+	 */
+	default CompletionStage<List<Itinerary>> fetchRoutesForSpecificationAsync(
+			RouteSpecification routeSpecification) {
+		return CompletableFuture.completedFuture(fetchRoutesForSpecification(routeSpecification));
+	}
+
+	/**
+	 * Looks up the routes for many specifications concurrently.
+	 *
+	 * @return The itineraries per specification. Completes exceptionally if any
+	 *         of the lookups fails.
+	 */
+	default CompletionStage<Map<RouteSpecification, List<Itinerary>>> fetchRoutesForSpecifications(
+			Collection<RouteSpecification> routeSpecifications) {
+		Map<RouteSpecification, CompletableFuture<List<Itinerary>>> requests = new HashMap<>();
+
+		for (RouteSpecification routeSpecification : routeSpecifications) {
+			requests.computeIfAbsent(routeSpecification,
+					specification -> fetchRoutesForSpecificationAsync(specification).toCompletableFuture());
+		}
+
+		return CompletableFuture.allOf(requests.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+			Map<RouteSpecification, List<Itinerary>> routes = new HashMap<>();
+			requests.forEach((routeSpecification, request) -> routes.put(routeSpecification, request.join()));
+
+			return routes;
+		});
+	}
 }
@@ -11,7 +11,7 @@ import jakarta.jms.Message;
 import jakarta.jms.MessageListener;
 import jakarta.jms.TextMessage;
 
-import org.eclipse.cargotracker.application.CargoInspectionService;
+import org.eclipse.cargotracker.application.internal.CargoInspectionCoalescer;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
 
 /**
@@ -19,7 +19,10 @@ import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
  * tracking service.
  * <p>
  * This is a programmatic hook into the JMS infrastructure to make cargo
- * inspection message-driven.
+ * inspection message-driven. Inspections are coalesced per cargo, see
+ * {@link CargoInspectionCoalescer}. The request is stored in the transaction
+ * of the message, so the message is only acknowledged once the inspection is
+ * sure to happen.
  */
 @MessageDriven(activationConfig = {
 		@ActivationConfigProperty(propertyName = "destinationType", propertyValue = "jakarta.jms.Queue"),
@@ -30,7 +33,7 @@ public class CargoHandledConsumer implements MessageListener {
 	private Logger logger;
 	
 	@Inject
-	private CargoInspectionService cargoInspectionService;
+	private CargoInspectionCoalescer cargoInspectionCoalescer;
 
 	@Override
 	public void onMessage(Message message) {
@@ -38,7 +41,7 @@ public class CargoHandledConsumer implements MessageListener {
 			TextMessage textMessage = (TextMessage) message;
 			String trackingIdString = textMessage.getText();
 
-			cargoInspectionService.inspectCargo(new TrackingId(trackingIdString));
+			cargoInspectionCoalescer.requestInspection(new TrackingId(trackingIdString));
 		} catch (JMSException e) {
 			logger.log(Level.SEVERE, "Error procesing JMS message", e);
 		}
@@ -0,0 +1,145 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSContext;
+
+/**
+ * Shares real time tracking updates between the nodes of a cluster through a
+ * topic, so WebSocket clients see every update whichever node they are
+ * connected to.
+ * <p>
+ * Each update is tagged with the publishing node and a per node sequence
+ * number. Nodes skip their own updates, which they have already delivered
+ * locally, and any update they have seen before. The topic consumer runs
+ * concurrently, so updates may arrive out of order; every node therefore
+ * remembers which of the last {@value #WINDOW} sequence numbers of each other
+ * node it has seen, rather than just the highest one. Nodes that have not
+ * published for a while, e.g. because they were restarted under a new ID, are
+ * forgotten.
+ */
+@ApplicationScoped
+public class CargoTrackingBroadcaster implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	static final String NODE_PROPERTY = "NodeId";
+	static final String SEQUENCE_PROPERTY = "Sequence";
+	static final String TRACKING_ID_PROPERTY = "TrackingId";
+	static final String LOCATION_PROPERTY = "Location";
+	static final String TRANSPORT_STATUS_PROPERTY = "TransportStatus";
+	static final int WINDOW = 4096;
+	// Well beyond the time to live of the updates.
+	static final long IDLE_TIMEOUT = 10 * 60 * 1000;
+
+	@Inject
+	JMSContext jmsContext;
+	@Resource(lookup = "java:app/jms/CargoTrackingTopic")
+	private Destination cargoTrackingTopic;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final AtomicLong sequence = new AtomicLong();
+	private final Map<String, SeenSequences> seen = new ConcurrentHashMap<>();
+	private final AtomicLong lastEviction = new AtomicLong();
+
+	/**
+	 * @param update The serialized update as sent to the WebSocket clients.
+	 */
+	public void publish(String trackingId, String location, String transportStatus, String update) {
+		jmsContext.createProducer().setDisableMessageID(true).setDisableMessageTimestamp(true)
+				// Stale soon, the next update of the cargo supersedes it.
+				.setTimeToLive(60 * 1000).setProperty(NODE_PROPERTY, nodeId)
+				.setProperty(SEQUENCE_PROPERTY, sequence.incrementAndGet())
+				.setProperty(TRACKING_ID_PROPERTY, trackingId).setProperty(LOCATION_PROPERTY, location)
+				.setProperty(TRANSPORT_STATUS_PROPERTY, transportStatus).send(cargoTrackingTopic, update);
+	}
+
+	/**
+	 * @return Whether an update received from the topic still has to be delivered
+	 *         to the local clients.
+	 */
+	public boolean accept(String publishingNodeId, long publishedSequence) {
+		return accept(publishingNodeId, publishedSequence, System.currentTimeMillis());
+	}
+
+	boolean accept(String publishingNodeId, long publishedSequence, long now) {
+		if (nodeId.equals(publishingNodeId)) {
+			return false;
+		}
+
+		long evicted = lastEviction.get();
+
+		if (now - evicted >= IDLE_TIMEOUT && lastEviction.compareAndSet(evicted, now)) {
+			seen.values().removeIf(sequences -> now - sequences.lastSeen >= IDLE_TIMEOUT);
+		}
+
+		return seen.computeIfAbsent(publishingNodeId, node -> new SeenSequences()).add(publishedSequence, now);
+	}
+
+	int knownNodes() {
+		return seen.size();
+	}
+
+	/**
+	 * The sequence numbers seen from one node, as a bit ring over the last
+	 * {@link #WINDOW} numbers up to the highest one. Updates older than that are
+	 * long superseded and treated as seen.
+	 */
+	private static class SeenSequences {
+
+		private final long[] bits = new long[WINDOW / 64];
+		private long highest;
+		private volatile long lastSeen;
+
+		synchronized boolean add(long sequence, long now) {
+			lastSeen = now;
+
+			if (sequence > highest) {
+				if (sequence - highest >= WINDOW) {
+					Arrays.fill(bits, 0);
+				} else {
+					for (long skipped = highest + 1; skipped < sequence; skipped++) {
+						clear(skipped);
+					}
+				}
+
+				highest = sequence;
+				set(sequence);
+
+				return true;
+			}
+
+			if (highest - sequence >= WINDOW || isSet(sequence)) {
+				return false;
+			}
+
+			set(sequence);
+
+			return true;
+		}
+
+		private boolean isSet(long sequence) {
+			int slot = (int) (sequence % WINDOW);
+			return (bits[slot >>> 6] & (1L << slot)) != 0;
+		}
+
+		private void set(long sequence) {
+			int slot = (int) (sequence % WINDOW);
+			bits[slot >>> 6] |= 1L << slot;
+		}
+
+		private void clear(long sequence) {
+			int slot = (int) (sequence % WINDOW);
+			bits[slot >>> 6] &= ~(1L << slot);
+		}
+	}
+}
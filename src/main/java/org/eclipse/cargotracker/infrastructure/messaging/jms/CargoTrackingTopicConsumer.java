@@ -0,0 +1,48 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.ejb.ActivationConfigProperty;
+import jakarta.ejb.MessageDriven;
+import jakarta.inject.Inject;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+
+import org.eclipse.cargotracker.interfaces.booking.socket.RealtimeCargoTrackingService;
+
+/**
+ * Relays tracking updates published by other nodes to the WebSocket clients
+ * connected to this one, see {@link CargoTrackingBroadcaster}.
+ */
+@MessageDriven(activationConfig = {
+		@ActivationConfigProperty(propertyName = "destinationType", propertyValue = "jakarta.jms.Topic"),
+		@ActivationConfigProperty(propertyName = "destinationLookup", propertyValue = "java:app/jms/CargoTrackingTopic") })
+public class CargoTrackingTopicConsumer implements MessageListener {
+
+	@Inject
+	private Logger logger;
+
+	@Inject
+	private CargoTrackingBroadcaster cargoTrackingBroadcaster;
+
+	@Inject
+	private RealtimeCargoTrackingService realtimeCargoTrackingService;
+
+	@Override
+	public void onMessage(Message message) {
+		try {
+			if (cargoTrackingBroadcaster.accept(message.getStringProperty(CargoTrackingBroadcaster.NODE_PROPERTY),
+					message.getLongProperty(CargoTrackingBroadcaster.SEQUENCE_PROPERTY))) {
+				realtimeCargoTrackingService.relay(
+						message.getStringProperty(CargoTrackingBroadcaster.TRACKING_ID_PROPERTY),
+						message.getStringProperty(CargoTrackingBroadcaster.LOCATION_PROPERTY),
+						message.getStringProperty(CargoTrackingBroadcaster.TRANSPORT_STATUS_PROPERTY),
+						message.getBody(String.class));
+			}
+		} catch (JMSException e) {
+			logger.log(Level.WARNING, "Error processing tracking update.", e);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
+
+/**
+ * Compact binary encoding of registration attempts, used instead of Java
+ * serialization on the registration attempt queue. Messages in this format
+ * carry the {@link #FORMAT_PROPERTY} property, messages without it are
+ * serialized objects.
+ * <p>
+ * Version 1 layout: version byte, registration and completion time as epoch
+ * millis, event type ordinal, the five bytes of the UN/LOCODE, then tracking
+ * ID and voyage number each as a length byte followed by ASCII bytes. A
+ * missing voyage number has length zero.
+ * <p>
+ * Truncated or otherwise malformed payloads are rejected with a
+ * {@link MalformedRegistrationAttemptException}.
+ */
+public final class HandlingEventRegistrationAttemptCodec {
+
+	public static final String FORMAT_PROPERTY = "RegistrationAttemptFormat";
+	public static final int VERSION = 1;
+
+	private static final int UN_LOCODE_LENGTH = 5;
+	// Everything up to and including the length of the voyage number.
+	private static final int MIN_LENGTH = 1 + 8 + 8 + 1 + UN_LOCODE_LENGTH + 1 + 1;
+	private static final HandlingEvent.Type[] TYPES = HandlingEvent.Type.values();
+
+	// Decoded UN/LOCODEs are few and immutable, so they are shared. The number
+	// of shared codes is capped, so that bogus codes cannot fill the heap.
+	private static final int MAX_UN_LOCODES = 1024;
+	private static final Map<Long, UnLocode> UN_LOCODES = new ConcurrentHashMap<>();
+
+	private HandlingEventRegistrationAttemptCodec() {
+		// Static methods only.
+	}
+
+	public static byte[] encode(HandlingEventRegistrationAttempt attempt) {
+		byte[] trackingId = attempt.getTrackingId().getIdString().getBytes(StandardCharsets.US_ASCII);
+		byte[] voyageNumber = attempt.getVoyageNumber() == null ? new byte[0]
+				: attempt.getVoyageNumber().getIdString().getBytes(StandardCharsets.US_ASCII);
+
+		if (trackingId.length > 255 || voyageNumber.length > 255) {
+			throw new IllegalArgumentException("Identifier too long to encode: " + attempt);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 1 + UN_LOCODE_LENGTH + 1 + trackingId.length + 1
+				+ voyageNumber.length);
+		buffer.put((byte) VERSION);
+		buffer.putLong(attempt.getRegistrationTime().getTime());
+		buffer.putLong(attempt.getCompletionTime().getTime());
+		buffer.put((byte) attempt.getType().ordinal());
+		buffer.put(attempt.getUnLocode().getIdString().getBytes(StandardCharsets.US_ASCII));
+		buffer.put((byte) trackingId.length).put(trackingId);
+		buffer.put((byte) voyageNumber.length).put(voyageNumber);
+
+		return buffer.array();
+	}
+
+	public static HandlingEventRegistrationAttempt decode(byte[] bytes) {
+		if (bytes.length == 0) {
+			throw new MalformedRegistrationAttemptException("Empty registration attempt");
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int version = buffer.get();
+
+		if (version != VERSION) {
+			throw new MalformedRegistrationAttemptException(
+					"Unsupported registration attempt format version " + version);
+		}
+
+		if (bytes.length < MIN_LENGTH) {
+			throw new MalformedRegistrationAttemptException(
+					"Truncated registration attempt of " + bytes.length + " bytes");
+		}
+
+		Date registrationTime = new Date(buffer.getLong());
+		Date completionTime = new Date(buffer.getLong());
+		int ordinal = buffer.get() & 0xff;
+
+		if (ordinal >= TYPES.length) {
+			throw new MalformedRegistrationAttemptException("Unknown handling event type " + ordinal);
+		}
+
+		HandlingEvent.Type type = TYPES[ordinal];
+
+		try {
+			UnLocode unLocode = unLocode(buffer);
+			TrackingId trackingId = new TrackingId(ascii(buffer));
+			String voyageNumber = ascii(buffer);
+
+			if (buffer.hasRemaining()) {
+				throw new MalformedRegistrationAttemptException(
+						buffer.remaining() + " trailing bytes in registration attempt");
+			}
+
+			return new HandlingEventRegistrationAttempt(registrationTime, completionTime, trackingId,
+					voyageNumber.isEmpty() ? null : new VoyageNumber(voyageNumber), type, unLocode);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			// Invalid identifiers.
+			throw new MalformedRegistrationAttemptException("Invalid registration attempt", e);
+		}
+	}
+
+	private static UnLocode unLocode(ByteBuffer buffer) {
+		long key = 0;
+
+		for (int i = 0; i < UN_LOCODE_LENGTH; i++) {
+			key = key << 8 | (buffer.get() & 0xff);
+		}
+
+		UnLocode unLocode = UN_LOCODES.get(key);
+
+		if (unLocode == null) {
+			byte[] code = new byte[UN_LOCODE_LENGTH];
+			buffer.get(buffer.position() - UN_LOCODE_LENGTH, code);
+			unLocode = new UnLocode(new String(code, StandardCharsets.US_ASCII));
+
+			// Only valid codes get here. The size check is racy, which can only
+			// let a few more in.
+			if (UN_LOCODES.size() < MAX_UN_LOCODES) {
+				UN_LOCODES.putIfAbsent(key, unLocode);
+			}
+		}
+
+		return unLocode;
+	}
+
+	private static String ascii(ByteBuffer buffer) {
+		if (!buffer.hasRemaining()) {
+			throw new MalformedRegistrationAttemptException("Truncated registration attempt");
+		}
+
+		int length = buffer.get() & 0xff;
+
+		if (length > buffer.remaining()) {
+			throw new MalformedRegistrationAttemptException(
+					"Identifier of " + length + " bytes exceeds the registration attempt");
+		}
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+}
@@ -1,8 +1,17 @@
 package org.eclipse.cargotracker.infrastructure.messaging.jms;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.annotation.Resource;
 import jakarta.ejb.ActivationConfigProperty;
 import jakarta.ejb.MessageDriven;
 import jakarta.inject.Inject;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSConsumer;
+import jakarta.jms.JMSContext;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 import jakarta.jms.MessageListener;
@@ -15,6 +24,15 @@ import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAtt
 /**
  * Consumes handling event registration attempt messages and delegates to proper
  * registration.
+ * <p>
+ * Unless the batch size is one, the consumer drains further attempts from the
+ * queue within the same transaction, up to the batch size or until the batch
+ * wait has passed, and registers them all at once. Attempts that cannot be
+ * registered are passed on to the rejected attempts queue one by one, so they
+ * do not roll back the batch. A redelivered message is registered on its own,
+ * so that a message that keeps failing ends up on the dead-letter queue by
+ * itself. Malformed messages are never retried, they go straight to the
+ * rejected attempts queue.
  */
 @MessageDriven(activationConfig = {
 		@ActivationConfigProperty(propertyName = "destinationType", propertyValue = "jakarta.jms.Queue"),
@@ -23,17 +41,83 @@ public class HandlingEventRegistrationAttemptConsumer implements MessageListener
 
 	@Inject
 	private HandlingEventService handlingEventService;
+	@Inject
+	private JMSContext jmsContext;
+	@Inject
+	private Logger logger;
+
+	@Resource(lookup = "java:app/jms/HandlingEventRegistrationAttemptQueue")
+	private Destination handlingEventQueue;
+	@Resource(lookup = "java:app/jms/RejectedRegistrationAttemptsQueue")
+	private Destination rejectedRegistrationAttemptsQueue;
+	@Resource(lookup = "java:app/configuration/RegistrationAttemptBatchSize")
+	private int batchSize;
+	@Resource(lookup = "java:app/configuration/RegistrationAttemptBatchWait")
+	private long batchWait;
 
 	@Override
 	public void onMessage(Message message) {
 		try {
-			ObjectMessage objectMessage = (ObjectMessage) message;
-			HandlingEventRegistrationAttempt attempt = (HandlingEventRegistrationAttempt) objectMessage.getObject();
-			handlingEventService.registerHandlingEvent(attempt.getCompletionTime(), attempt.getTrackingId(),
-					attempt.getVoyageNumber(), attempt.getUnLocode(), attempt.getType());
-		} catch (JMSException | CannotCreateHandlingEventException e) {
+			HandlingEventRegistrationAttempt attempt;
+
+			try {
+				attempt = decode(message);
+			} catch (MalformedRegistrationAttemptException e) {
+				reject(message, e);
+				return;
+			}
+
+			if (batchSize <= 1 || message.getJMSRedelivered()) {
+				handlingEventService.registerHandlingEvent(attempt.getCompletionTime(), attempt.getTrackingId(),
+						attempt.getVoyageNumber(), attempt.getUnLocode(), attempt.getType());
+			} else {
+				registerBatch(attempt);
+			}
+		} catch (JMSException | CannotCreateHandlingEventException | IllegalArgumentException e) {
 			// Poison messages will be placed on dead-letter queue.
 			throw new RuntimeException("Error occurred processing message", e);
 		}
 	}
+
+	private void registerBatch(HandlingEventRegistrationAttempt first) {
+		List<HandlingEventRegistrationAttempt> attempts = new ArrayList<>(batchSize);
+		attempts.add(first);
+		long deadline = System.currentTimeMillis() + batchWait;
+
+		try (JMSConsumer consumer = jmsContext.createConsumer(handlingEventQueue)) {
+			while (attempts.size() < batchSize) {
+				long remaining = deadline - System.currentTimeMillis();
+				Message next = remaining > 0 ? consumer.receive(remaining) : consumer.receiveNoWait();
+
+				if (next == null) {
+					break;
+				}
+
+				try {
+					attempts.add(decode(next));
+				} catch (JMSException | IllegalArgumentException | MalformedRegistrationAttemptException e) {
+					reject(next, e);
+				}
+			}
+		}
+
+		for (HandlingEventRegistrationAttempt rejected : handlingEventService.registerHandlingEvents(attempts)) {
+			jmsContext.createProducer().send(rejectedRegistrationAttemptsQueue,
+					rejected.getTrackingId().getIdString());
+		}
+	}
+
+	private void reject(Message message, Exception cause) {
+		logger.log(Level.WARNING, "Rejected undecodable registration attempt", cause);
+		jmsContext.createProducer().send(rejectedRegistrationAttemptsQueue, message);
+	}
+
+	private static HandlingEventRegistrationAttempt decode(Message message) throws JMSException {
+		if (message.propertyExists(HandlingEventRegistrationAttemptCodec.FORMAT_PROPERTY)) {
+			return HandlingEventRegistrationAttemptCodec.decode(message.getBody(byte[].class));
+		} else {
+			// Sent before the binary format was introduced.
+			return (HandlingEventRegistrationAttempt) ((ObjectMessage) message).getObject();
+		}
+	}
 }
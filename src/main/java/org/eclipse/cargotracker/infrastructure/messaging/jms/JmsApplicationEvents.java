@@ -1,6 +1,7 @@
 package org.eclipse.cargotracker.infrastructure.messaging.jms;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -9,6 +10,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.jms.Destination;
 import jakarta.jms.JMSContext;
+import jakarta.jms.JMSProducer;
 
 import org.eclipse.cargotracker.application.ApplicationEvents;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
@@ -58,8 +60,24 @@ public class JmsApplicationEvents implements ApplicationEvents, Serializable {
 	@Override
 	public void receivedHandlingEventRegistrationAttempt(HandlingEventRegistrationAttempt attempt) {
 		logger.log(Level.INFO, "Received handling event registration attempt {0}", attempt);
-		jmsContext.createProducer().setPriority(LOW_PRIORITY).setDisableMessageID(true).setDisableMessageTimestamp(true)
-				.setTimeToLive(1000).send(handlingEventQueue, attempt);
+		registrationAttemptProducer().send(handlingEventQueue, HandlingEventRegistrationAttemptCodec.encode(attempt));
+	}
+
+	@Override
+	public void receivedHandlingEventRegistrationAttempts(List<HandlingEventRegistrationAttempt> attempts) {
+		logger.log(Level.INFO, "Received {0} handling event registration attempts", attempts.size());
+		JMSProducer producer = registrationAttemptProducer();
+
+		for (HandlingEventRegistrationAttempt attempt : attempts) {
+			producer.send(handlingEventQueue, HandlingEventRegistrationAttemptCodec.encode(attempt));
+		}
+	}
+
+	private JMSProducer registrationAttemptProducer() {
+		return jmsContext.createProducer().setPriority(LOW_PRIORITY).setDisableMessageID(true)
+				.setDisableMessageTimestamp(true).setTimeToLive(1000)
+				.setProperty(HandlingEventRegistrationAttemptCodec.FORMAT_PROPERTY,
+						HandlingEventRegistrationAttemptCodec.VERSION);
 	}
 
 }
@@ -0,0 +1,18 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+/**
+ * A registration attempt message that cannot be decoded. Redelivering it will
+ * not help.
+ */
+public class MalformedRegistrationAttemptException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public MalformedRegistrationAttemptException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public MalformedRegistrationAttemptException(String message) {
+		super(message);
+	}
+}
@@ -9,6 +9,7 @@ import jakarta.inject.Inject;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 import jakarta.jms.MessageListener;
+import jakarta.jms.TextMessage;
 
 @MessageDriven(activationConfig = {
 		@ActivationConfigProperty(propertyName = "destinationType", propertyValue = "jakarta.jms.Queue"),
@@ -21,8 +22,12 @@ public class RejectedRegistrationAttemptsConsumer implements MessageListener {
 	@Override
 	public void onMessage(Message message) {
 		try {
-			logger.log(Level.INFO, "Rejected registration attempt of cargo with tracking ID {0}.",
-					message.getBody(String.class));
+			if (message instanceof TextMessage) {
+				logger.log(Level.INFO, "Rejected registration attempt of cargo with tracking ID {0}.",
+						message.getBody(String.class));
+			} else {
+				logger.log(Level.INFO, "Rejected undecodable registration attempt.");
+			}
 		} catch (JMSException ex) {
 			logger.log(Level.WARNING, "Error processing message.", ex);
 		}
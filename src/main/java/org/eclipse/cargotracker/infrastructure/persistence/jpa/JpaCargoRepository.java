@@ -1,10 +1,22 @@
 package org.eclipse.cargotracker.infrastructure.persistence.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -15,12 +27,28 @@ import jakarta.persistence.PersistenceContext;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
 import org.eclipse.cargotracker.domain.model.cargo.Leg;
+import org.eclipse.cargotracker.domain.model.cargo.RoutingStatus;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
 
 @ApplicationScoped
 public class JpaCargoRepository implements CargoRepository, Serializable {
 
 	private static final long serialVersionUID = 1L;
+	private static final int STREAM_PAGE_SIZE = 500;
+	private static final String FIND_BY_STATUS = "Select c from Cargo c left join c.delivery.lastKnownLocation l"
+			+ " where c.delivery.routingStatus in :routingStatuses"
+			+ " and c.delivery.transportStatus in :transportStatuses order by ";
+	private static final Map<SortKey, String> SORT_PATHS = new EnumMap<>(SortKey.class);
+
+	static {
+		SORT_PATHS.put(SortKey.TRACKING_ID, "c.trackingId.id");
+		SORT_PATHS.put(SortKey.ORIGIN, "c.origin.name");
+		SORT_PATHS.put(SortKey.DESTINATION, "c.routeSpecification.destination.name");
+		SORT_PATHS.put(SortKey.ARRIVAL_DEADLINE, "c.routeSpecification.arrivalDeadline");
+		SORT_PATHS.put(SortKey.LAST_KNOWN_LOCATION, "l.name");
+		SORT_PATHS.put(SortKey.TRANSPORT_STATUS, "c.delivery.transportStatus");
+	}
 
     @Inject
     private Logger logger;
@@ -43,6 +71,22 @@ public class JpaCargoRepository implements CargoRepository, Serializable {
 		return cargo;
 	}
 
+	@Override
+	public List<Cargo> find(Collection<TrackingId> trackingIds) {
+		if (trackingIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<String> ids = new ArrayList<>(trackingIds.size());
+
+		for (TrackingId trackingId : trackingIds) {
+			ids.add(trackingId.getIdString());
+		}
+
+		return entityManager.createNamedQuery("Cargo.findByTrackingIds", Cargo.class)
+				.setParameter("trackingIds", ids).getResultList();
+	}
+
 	@Override
 	public void store(Cargo cargo) {
 		// TODO [Clean Code] See why cascade is not working correctly for legs.
@@ -61,8 +105,102 @@ public class JpaCargoRepository implements CargoRepository, Serializable {
 	}
 
 	@Override
-	public List<Cargo> findAll() {
-		return entityManager.createNamedQuery("Cargo.findAll", Cargo.class).getResultList();
+	public List<Cargo> findAll(TrackingId after, int maxResults) {
+		return entityManager.createNamedQuery("Cargo.findAllAfter", Cargo.class)
+				.setParameter("after", after == null ? "" : after.getIdString()).setMaxResults(maxResults)
+				// Loads the legs of the whole page in one more query rather than one
+				// per cargo.
+				.setHint("eclipselink.batch", "c.itinerary.legs").setHint("eclipselink.batch.type", "IN")
+				.setHint("eclipselink.jdbc.fetch-size", maxResults).getResultList();
+	}
+
+	@Override
+	public List<String> findTrackingIdsStartingWith(String prefix, int maxResults) {
+		return entityManager.createNamedQuery("Cargo.findTrackingIdsByPrefix", String.class)
+				.setParameter("prefix", likePrefix(prefix)).setMaxResults(maxResults).getResultList();
+	}
+
+	@Override
+	public List<String> findRoutedUnclaimedTrackingIdsStartingWith(String prefix, int maxResults) {
+		return entityManager.createNamedQuery("Cargo.findRoutedUnclaimedTrackingIdsByPrefix", String.class)
+				.setParameter("prefix", likePrefix(prefix)).setParameter("notRouted", RoutingStatus.NOT_ROUTED)
+				.setParameter("claimed", TransportStatus.CLAIMED).setMaxResults(maxResults).getResultList();
+	}
+
+	@Override
+	public void countByStatus(StatusCountConsumer consumer) {
+		for (Object[] row : entityManager.createNamedQuery("Cargo.countGroupedByStatus", Object[].class)
+				.getResultList()) {
+			consumer.accept((RoutingStatus) row[0], (TransportStatus) row[1], (Boolean) row[2],
+					((Number) row[3]).longValue());
+		}
+	}
+
+	@Override
+	public List<Cargo> find(Set<RoutingStatus> routingStatuses, Set<TransportStatus> transportStatuses,
+			SortKey sortKey, boolean ascending, int firstResult, int maxResults) {
+		String direction = ascending ? " asc" : " desc";
+		// The sort path comes from a fixed set, so building the query is safe.
+		String query = FIND_BY_STATUS + SORT_PATHS.get(sortKey) + direction
+				+ (sortKey == SortKey.TRACKING_ID ? "" : ", c.trackingId.id" + direction);
+
+		return entityManager.createQuery(query, Cargo.class).setParameter("routingStatuses", routingStatuses)
+				.setParameter("transportStatuses", transportStatuses).setFirstResult(firstResult)
+				.setMaxResults(maxResults).setHint("eclipselink.batch", "c.itinerary.legs")
+				.setHint("eclipselink.batch.type", "IN").getResultList();
+	}
+
+	@Override
+	public Stream<Cargo> streamAll() {
+		Iterator<Cargo> iterator = new Iterator<Cargo>() {
+
+			private List<Cargo> page = Collections.emptyList();
+			private int index;
+			private boolean last;
+
+			@Override
+			public boolean hasNext() {
+				if (index == page.size() && !last) {
+					TrackingId after = page.isEmpty() ? null : page.get(page.size() - 1).getTrackingId();
+					detach(page);
+					page = findAll(after, STREAM_PAGE_SIZE);
+					index = 0;
+					last = page.size() < STREAM_PAGE_SIZE;
+				}
+
+				return index < page.size();
+			}
+
+			@Override
+			public Cargo next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return page.get(index++);
+			}
+		};
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	private static String likePrefix(String prefix) {
+		return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+	}
+
+	private void detach(List<Cargo> cargos) {
+		for (Cargo cargo : cargos) {
+			if (entityManager.contains(cargo)) {
+				entityManager.detach(cargo);
+			}
+		}
+	}
+
+	@Override
+	public List<TrackingId> findTrackingIdsRequiringRerouting() {
+		return entityManager.createNamedQuery("Cargo.findTrackingIdsRequiringRerouting", TrackingId.class)
+				.setParameter("routingStatus", RoutingStatus.MISROUTED).getResultList();
 	}
 
 }
@@ -1,6 +1,10 @@
 package org.eclipse.cargotracker.infrastructure.persistence.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
@@ -29,4 +33,36 @@ public class JpaHandlingEventRepository implements HandlingEventRepository, Seri
 		return new HandlingHistory(entityManager.createNamedQuery("HandlingEvent.findByTrackingId", HandlingEvent.class)
 				.setParameter("trackingId", trackingId).getResultList());
 	}
+
+	@Override
+	public HandlingEvent lookupMostRecentlyCompletedEvent(TrackingId trackingId) {
+		List<HandlingEvent> events = entityManager
+				.createNamedQuery("HandlingEvent.findByTrackingIdMostRecentFirst", HandlingEvent.class)
+				.setParameter("trackingId", trackingId).setMaxResults(1).getResultList();
+
+		return events.isEmpty() ? null : events.get(0);
+	}
+
+	@Override
+	public List<HandlingEvent> lookupMostRecentlyCompletedEvents(TrackingId trackingId, int maxResults) {
+		List<HandlingEvent> events = new ArrayList<>(entityManager
+				.createNamedQuery("HandlingEvent.findByTrackingIdMostRecentFirst", HandlingEvent.class)
+				.setParameter("trackingId", trackingId).setMaxResults(maxResults).getResultList());
+		Collections.reverse(events);
+
+		return events;
+	}
+
+	@Override
+	public List<HandlingEvent> lookupHandlingEvents(TrackingId trackingId, int firstResult, int maxResults) {
+		return entityManager.createNamedQuery("HandlingEvent.findByTrackingIdInCompletionOrder", HandlingEvent.class)
+				.setParameter("trackingId", trackingId).setFirstResult(firstResult).setMaxResults(maxResults)
+				.getResultList();
+	}
+
+	@Override
+	public Stream<HandlingEvent> streamHandlingEvents(TrackingId trackingId) {
+		return entityManager.createNamedQuery("HandlingEvent.findByTrackingIdInCompletionOrder", HandlingEvent.class)
+				.setParameter("trackingId", trackingId).getResultStream();
+	}
 }
@@ -1,6 +1,8 @@
 package org.eclipse.cargotracker.infrastructure.persistence.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -19,14 +21,65 @@ public class JpaLocationRepository implements LocationRepository, Serializable {
 	@PersistenceContext
 	private EntityManager entityManager;
 
+	private final ReferenceDataIndex<UnLocode, Location> index = new ReferenceDataIndex<>(Location.class);
+
 	@Override
 	public Location find(UnLocode unLocode) {
-		return entityManager.createNamedQuery("Location.findByUnLocode", Location.class)
-				.setParameter("unLocode", unLocode).getSingleResult();
+		warmUp();
+		Location location = index.find(entityManager, unLocode);
+
+		if (location == null) {
+			location = entityManager.createNamedQuery("Location.findByUnLocode", Location.class)
+					.setParameter("unLocode", unLocode).getSingleResult();
+			index.put(entityManager, unLocode, location);
+		}
+
+		return location;
+	}
+
+	@Override
+	public List<Location> find(Collection<UnLocode> unLocodes) {
+		warmUp();
+		List<Location> locations = new ArrayList<>(unLocodes.size());
+		List<String> missing = new ArrayList<>();
+
+		for (UnLocode unLocode : unLocodes) {
+			Location location = index.find(entityManager, unLocode);
+
+			if (location == null) {
+				missing.add(unLocode.getIdString());
+			} else {
+				locations.add(location);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			for (Location location : entityManager.createNamedQuery("Location.findByUnLocodes", Location.class)
+					.setParameter("unLocodes", missing).getResultList()) {
+				index.put(entityManager, location.getUnLocode(), location);
+				locations.add(location);
+			}
+		}
+
+		return locations;
 	}
 
 	@Override
 	public List<Location> findAll() {
-		return entityManager.createNamedQuery("Location.findAll", Location.class).getResultList();
+		List<Location> locations = entityManager.createNamedQuery("Location.findAll", Location.class)
+				.getResultList();
+
+		for (Location location : locations) {
+			index.put(entityManager, location.getUnLocode(), location);
+		}
+
+		return locations;
+	}
+
+	private void warmUp() {
+		if (!index.isWarm()) {
+			findAll();
+			index.setWarm();
+		}
 	}
 }
@@ -1,15 +1,20 @@
 package org.eclipse.cargotracker.infrastructure.persistence.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import org.eclipse.cargotracker.domain.model.voyage.Voyage;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
+import org.eclipse.cargotracker.infrastructure.events.cdi.VoyageScheduleChanged;
 
 @ApplicationScoped
 public class JpaVoyageRepository implements VoyageRepository, Serializable {
@@ -19,15 +24,77 @@ public class JpaVoyageRepository implements VoyageRepository, Serializable {
 	@PersistenceContext
 	private EntityManager entityManager;
 
+	@Inject
+	@VoyageScheduleChanged
+	private Event<Voyage> voyageScheduleChanged;
+
+	private final ReferenceDataIndex<VoyageNumber, Voyage> index = new ReferenceDataIndex<>(Voyage.class);
+
 	@Override
 	public Voyage find(VoyageNumber voyageNumber) {
-		return entityManager.createNamedQuery("Voyage.findByVoyageNumber", Voyage.class)
-				.setParameter("voyageNumber", voyageNumber).getSingleResult();
+		warmUp();
+		Voyage voyage = index.find(entityManager, voyageNumber);
+
+		if (voyage == null) {
+			voyage = entityManager.createNamedQuery("Voyage.findByVoyageNumber", Voyage.class)
+					.setParameter("voyageNumber", voyageNumber).getSingleResult();
+			index.put(entityManager, voyageNumber, voyage);
+		}
+
+		return voyage;
+	}
+
+	@Override
+	public List<Voyage> find(Collection<VoyageNumber> voyageNumbers) {
+		warmUp();
+		List<Voyage> voyages = new ArrayList<>(voyageNumbers.size());
+		List<String> missing = new ArrayList<>();
+
+		for (VoyageNumber voyageNumber : voyageNumbers) {
+			Voyage voyage = index.find(entityManager, voyageNumber);
+
+			if (voyage == null) {
+				missing.add(voyageNumber.getIdString());
+			} else {
+				voyages.add(voyage);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			for (Voyage voyage : entityManager.createNamedQuery("Voyage.findByVoyageNumbers", Voyage.class)
+					.setParameter("voyageNumbers", missing).getResultList()) {
+				index.put(entityManager, voyage.getVoyageNumber(), voyage);
+				voyages.add(voyage);
+			}
+		}
+
+		return voyages;
 	}
 
 	@Override
 	public List<Voyage> findAll() {
-		return entityManager.createNamedQuery("Voyage.findAll", Voyage.class).getResultList();
+		List<Voyage> voyages = entityManager.createNamedQuery("Voyage.findAll", Voyage.class).getResultList();
+
+		for (Voyage voyage : voyages) {
+			index.put(entityManager, voyage.getVoyageNumber(), voyage);
+		}
+
+		return voyages;
 	}
 
+	@Override
+	public void store(Voyage voyage) {
+		Voyage stored = entityManager.contains(voyage) ? voyage : entityManager.merge(voyage);
+		entityManager.flush();
+		index.put(entityManager, stored.getVoyageNumber(), stored);
+
+		voyageScheduleChanged.fire(stored);
+	}
+
+	private void warmUp() {
+		if (!index.isWarm()) {
+			findAll();
+			index.setWarm();
+		}
+	}
 }
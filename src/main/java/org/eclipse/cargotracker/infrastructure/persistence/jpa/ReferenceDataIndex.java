@@ -0,0 +1,58 @@
+package org.eclipse.cargotracker.infrastructure.persistence.jpa;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Maps the natural keys of rarely changing reference data to entity IDs. The
+ * entities can then be loaded with {@link EntityManager#find}, which is served
+ * from the shared cache, rather than with a query that always goes to the
+ * database.
+ */
+class ReferenceDataIndex<K, E> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Class<E> entityClass;
+	private final Map<K, Object> ids = new ConcurrentHashMap<>();
+	private volatile boolean warm;
+
+	ReferenceDataIndex(Class<E> entityClass) {
+		this.entityClass = entityClass;
+	}
+
+	/**
+	 * @return The entity, or null if its key is not indexed.
+	 */
+	E find(EntityManager entityManager, K key) {
+		Object id = ids.get(key);
+
+		if (id == null) {
+			return null;
+		}
+
+		E entity = entityManager.find(entityClass, id);
+
+		if (entity == null) {
+			// Removed in the meantime.
+			ids.remove(key, id);
+		}
+
+		return entity;
+	}
+
+	void put(EntityManager entityManager, K key, E entity) {
+		ids.put(key, entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+	}
+
+	boolean isWarm() {
+		return warm;
+	}
+
+	void setWarm() {
+		warm = true;
+	}
+}
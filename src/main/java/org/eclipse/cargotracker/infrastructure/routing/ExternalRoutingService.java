@@ -1,16 +1,21 @@
 package org.eclipse.cargotracker.infrastructure.routing;
 
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import jakarta.annotation.Resource;
 import jakarta.ejb.Stateless;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MediaType;
@@ -18,16 +23,10 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.annotation.PostConstruct;
 import org.eclipse.cargotracker.application.util.JsonMoxyConfigurationContextResolver;
 import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
-import org.eclipse.cargotracker.domain.model.cargo.Leg;
 import org.eclipse.cargotracker.domain.model.cargo.RouteSpecification;
-import org.eclipse.cargotracker.domain.model.location.LocationRepository;
-import org.eclipse.cargotracker.domain.model.location.UnLocode;
-import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
-import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
 import org.eclipse.cargotracker.domain.service.RoutingService;
 import org.eclipse.microprofile.faulttolerance.Retry;
 import org.eclipse.microprofile.faulttolerance.Timeout;
-import org.eclipse.pathfinder.api.TransitEdge;
 import org.eclipse.pathfinder.api.TransitPath;
 import org.glassfish.jersey.moxy.json.MoxyJsonFeature;
 
@@ -35,70 +34,114 @@ import org.glassfish.jersey.moxy.json.MoxyJsonFeature;
  * Our end of the routing service. This is basically a data model translation
  * layer between our domain model and the API put forward by the routing team,
  * which operates in a different context from us.
+ * <p>
+ * The blocking lookup is guarded by fault tolerance annotations. Those do not
+ * apply to the returned stage of the asynchronous lookup, so it retries by
+ * itself with the same limits. Both rely on the connect and read timeouts of
+ * the client to give up on a slow request, which also releases the
+ * connection.
  */
 @Stateless
 public class ExternalRoutingService implements RoutingService {
 
-	@Inject
-	private Logger logger;
-	
+	private static final long TIMEOUT = 2000;
+	private static final int MAX_RETRIES = 2;
+	private static final long RETRY_DELAY = 250;
+
 	@Resource(lookup = "java:app/configuration/GraphTraversalUrl")
 	private String graphTraversalUrl;
 	
-	private final Client jaxrsClient = ClientBuilder.newClient();
+	// Runs the asynchronous requests and their translation, never an EJB thread.
+	@Resource
+	private ManagedExecutorService executorService;
+
+	private Client jaxrsClient;
 	private WebTarget graphTraversalResource;
 	
 	@Inject
-	private LocationRepository locationRepository;
+	private TransitPathTranslator transitPathTranslator;
 	@Inject
-	private VoyageRepository voyageRepository;
+	private RouteCandidateCache routeCandidateCache;
 
 	@PostConstruct
 	public void init() {
+		jaxrsClient = ClientBuilder.newBuilder().executorService(executorService)
+				.connectTimeout(TIMEOUT, TimeUnit.MILLISECONDS).readTimeout(TIMEOUT, TimeUnit.MILLISECONDS).build();
 		graphTraversalResource = jaxrsClient.target(graphTraversalUrl);
 		graphTraversalResource.register(new MoxyJsonFeature()).register(new JsonMoxyConfigurationContextResolver());
 	}
 
-	@Timeout(value=2000)
-	@Retry(maxRetries = 2, delay = 250)
+	@Timeout(value = TIMEOUT)
+	@Retry(maxRetries = MAX_RETRIES, delay = RETRY_DELAY)
 	@Override
 	public List<Itinerary> fetchRoutesForSpecification(RouteSpecification routeSpecification) {
 		// The RouteSpecification is picked apart and adapted to the external API.
 		String origin = routeSpecification.getOrigin().getUnLocode().getIdString();
 		String destination = routeSpecification.getDestination().getUnLocode().getIdString();
+		Date deadline = routeSpecification.getArrivalDeadline();
+
+		long generation = routeCandidateCache.generation();
+		List<Itinerary> candidates = routeCandidateCache.get(origin, destination, deadline);
 
-		List<TransitPath> transitPaths = graphTraversalResource.queryParam("origin", origin)
-				.queryParam("destination", destination).request(MediaType.APPLICATION_JSON_TYPE)
-				.get(new GenericType<List<TransitPath>>() {
-				});
-
-		// The returned result is then translated back into our domain model.
-		List<Itinerary> itineraries = new ArrayList<>();
-
-		for (TransitPath transitPath : transitPaths) {
-			Itinerary itinerary = toItinerary(transitPath);
-			// Use the specification to safe-guard against invalid itineraries
-			if (routeSpecification.isSatisfiedBy(itinerary)) {
-				itineraries.add(itinerary);
-			} else {
-				logger.log(Level.FINE, "Received itinerary that did not satisfy the route specification");
-			}
+		if (candidates == null) {
+			List<TransitPath> transitPaths = transitPathRequest(origin, destination, deadline)
+					.get(new GenericType<List<TransitPath>>() {
+					});
+
+			// The returned result is then translated back into our domain model.
+			candidates = transitPathTranslator.toItineraries(transitPaths);
+			routeCandidateCache.put(origin, destination, deadline, generation, candidates);
 		}
 
-		return itineraries;
+		return transitPathTranslator.satisfying(routeSpecification, candidates);
 	}
 
-	private Itinerary toItinerary(TransitPath transitPath) {
-		List<Leg> legs = new ArrayList<>(transitPath.getTransitEdges().size());
-		for (TransitEdge edge : transitPath.getTransitEdges()) {
-			legs.add(toLeg(edge));
+	@Override
+	public CompletionStage<List<Itinerary>> fetchRoutesForSpecificationAsync(RouteSpecification routeSpecification) {
+		String origin = routeSpecification.getOrigin().getUnLocode().getIdString();
+		String destination = routeSpecification.getDestination().getUnLocode().getIdString();
+		Date deadline = routeSpecification.getArrivalDeadline();
+
+		long generation = routeCandidateCache.generation();
+		List<Itinerary> cached = routeCandidateCache.get(origin, destination, deadline);
+
+		if (cached != null) {
+			return CompletableFuture.completedFuture(transitPathTranslator.satisfying(routeSpecification, cached));
 		}
-		return new Itinerary(legs);
+
+		// This bean goes back to the pool when the method returns, so the
+		// continuations must only capture application scoped collaborators.
+		Invocation.Builder request = transitPathRequest(origin, destination, deadline);
+		TransitPathTranslator translator = transitPathTranslator;
+		RouteCandidateCache cache = routeCandidateCache;
+
+		return getWithRetries(request, executorService, MAX_RETRIES).thenApplyAsync(transitPaths -> {
+			List<Itinerary> candidates = translator.toItineraries(transitPaths);
+			cache.put(origin, destination, deadline, generation, candidates);
+
+			return translator.satisfying(routeSpecification, candidates);
+		}, executorService);
+	}
+
+	private static CompletableFuture<List<TransitPath>> getWithRetries(Invocation.Builder request,
+			Executor executor, int retries) {
+		CompletableFuture<List<TransitPath>> transitPaths = request.rx().get(new GenericType<List<TransitPath>>() {
+		}).toCompletableFuture();
+
+		if (retries == 0) {
+			return transitPaths;
+		}
+
+		return transitPaths.handle((result, failure) -> failure == null ? CompletableFuture.completedFuture(result)
+				: CompletableFuture.runAsync(() -> {
+				}, CompletableFuture.delayedExecutor(RETRY_DELAY, TimeUnit.MILLISECONDS, executor))
+						.thenCompose(ignored -> getWithRetries(request, executor, retries - 1)))
+				.thenCompose(Function.identity());
 	}
 
-	private Leg toLeg(TransitEdge edge) {
-		return new Leg(voyageRepository.find(new VoyageNumber(edge.getVoyageNumber())),
-				locationRepository.find(new UnLocode(edge.getFromUnLocode())),
-				locationRepository.find(new UnLocode(edge.getToUnLocode())), edge.getFromDate(), edge.getToDate());
+	private Invocation.Builder transitPathRequest(String origin, String destination, Date deadline) {
+		return graphTraversalResource.queryParam("origin", origin).queryParam("destination", destination)
+				.queryParam("deadline", RouteCandidateCache.bucketDeadline(deadline).toInstant().toString())
+				.request(MediaType.APPLICATION_JSON_TYPE);
 	}
 }
@@ -0,0 +1,152 @@
+package org.eclipse.cargotracker.infrastructure.routing;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.interceptor.Interceptor;
+
+import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
+import org.eclipse.cargotracker.domain.model.cargo.Leg;
+import org.eclipse.cargotracker.domain.model.voyage.Voyage;
+import org.eclipse.cargotracker.infrastructure.events.cdi.VoyageScheduleChanged;
+
+/**
+ * Bounded, time limited cache of translated route candidates, keyed by origin,
+ * destination and the day of the arrival deadline. Any schedule change may open
+ * or close routes on any lane, so the whole cache is cleared when a voyage
+ * changes.
+ * <p>
+ * Every clear starts a new generation. Candidates are only stored if no clear
+ * happened since the caller started to compute them, so a request that was
+ * answered from the old timetable cannot put stale routes back.
+ */
+@ApplicationScoped
+public class RouteCandidateCache {
+
+	private static final int MAX_ENTRIES = 1000;
+	private static final long TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+	private static final long DEADLINE_BUCKET = TimeUnit.DAYS.toMillis(1);
+
+	private final Map<String, CacheEntry> entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f,
+			true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private long generation;
+
+	/**
+	 * @return The latest deadline in the bucket of the given deadline. Candidates
+	 *         are looked up with this deadline so that they cover every deadline
+	 *         in the bucket, and are then filtered per route specification.
+	 */
+	public static Date bucketDeadline(Date deadline) {
+		return new Date((deadline.getTime() / DEADLINE_BUCKET + 1) * DEADLINE_BUCKET - 1);
+	}
+
+	/**
+	 * @return Copies of the cached candidates, or null if there are none or they
+	 *         have expired.
+	 */
+	public synchronized List<Itinerary> get(String origin, String destination, Date deadline) {
+		String key = key(origin, destination, deadline);
+		CacheEntry entry = entries.get(key);
+
+		if (entry == null) {
+			return null;
+		}
+
+		if (entry.expires < System.currentTimeMillis()) {
+			entries.remove(key);
+			return null;
+		}
+
+		// Legs are entities, callers must never share them.
+		List<Itinerary> itineraries = new ArrayList<>(entry.itineraries.size());
+
+		for (Itinerary itinerary : entry.itineraries) {
+			itineraries.add(copyOf(itinerary));
+		}
+
+		return itineraries;
+	}
+
+	/**
+	 * @return The current generation, to be passed to
+	 *         {@link #put(String, String, Date, long, List)} once the candidates
+	 *         have been computed.
+	 */
+	public synchronized long generation() {
+		return generation;
+	}
+
+	public synchronized void put(String origin, String destination, Date deadline, long generation,
+			List<Itinerary> itineraries) {
+		if (generation != this.generation) {
+			return;
+		}
+
+		List<Itinerary> copies = new ArrayList<>(itineraries.size());
+
+		for (Itinerary itinerary : itineraries) {
+			copies.add(copyOf(itinerary));
+		}
+
+		entries.put(key(origin, destination, deadline),
+				new CacheEntry(copies, System.currentTimeMillis() + TIME_TO_LIVE));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		generation++;
+	}
+
+	/**
+	 * Runs after the routing graph has been patched, which observes the same
+	 * event with a lower priority, so that a lookup right after the clear is
+	 * answered from the new timetable.
+	 */
+	public void onVoyageScheduleChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) @Priority(
+			Interceptor.Priority.APPLICATION + 100) @VoyageScheduleChanged Voyage voyage) {
+		clear();
+	}
+
+	private static String key(String origin, String destination, Date deadline) {
+		return origin + "-" + destination + "-" + deadline.getTime() / DEADLINE_BUCKET;
+	}
+
+	private static Itinerary copyOf(Itinerary itinerary) {
+		List<Leg> legs = new ArrayList<>(itinerary.getLegs().size());
+
+		for (Leg leg : itinerary.getLegs()) {
+			legs.add(new Leg(leg.getVoyage(), leg.getLoadLocation(), leg.getUnloadLocation(), leg.getLoadTime(),
+					leg.getUnloadTime()));
+		}
+
+		return new Itinerary(legs);
+	}
+
+	private static class CacheEntry {
+
+		private final List<Itinerary> itineraries;
+		private final long expires;
+
+		CacheEntry(List<Itinerary> itineraries, long expires) {
+			this.itineraries = itineraries;
+			this.expires = expires;
+		}
+	}
+}
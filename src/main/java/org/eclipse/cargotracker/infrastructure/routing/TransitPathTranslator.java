@@ -0,0 +1,108 @@
+package org.eclipse.cargotracker.infrastructure.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
+import org.eclipse.cargotracker.domain.model.cargo.Leg;
+import org.eclipse.cargotracker.domain.model.cargo.RouteSpecification;
+import org.eclipse.cargotracker.domain.model.location.Location;
+import org.eclipse.cargotracker.domain.model.location.LocationRepository;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.Voyage;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
+import org.eclipse.pathfinder.api.TransitEdge;
+import org.eclipse.pathfinder.api.TransitPath;
+
+/**
+ * Translates the paths of the routing team's API into itineraries of our
+ * domain model. Kept apart from the pooled routing service bean so that
+ * asynchronous continuations can use it after the bean has been returned to
+ * the pool.
+ */
+@ApplicationScoped
+public class TransitPathTranslator {
+
+	@Inject
+	private Logger logger;
+	@Inject
+	private LocationRepository locationRepository;
+	@Inject
+	private VoyageRepository voyageRepository;
+
+	public List<Itinerary> satisfying(RouteSpecification routeSpecification, List<Itinerary> candidates) {
+		List<Itinerary> itineraries = new ArrayList<>();
+
+		for (Itinerary itinerary : candidates) {
+			// Use the specification to safe-guard against invalid itineraries
+			if (routeSpecification.isSatisfiedBy(itinerary)) {
+				itineraries.add(itinerary);
+			} else {
+				logger.log(Level.FINE, "Received itinerary that did not satisfy the route specification");
+			}
+		}
+
+		return itineraries;
+	}
+
+	/**
+	 * Resolves all locations and voyages referenced by the paths up front, with
+	 * one query each, rather than once per edge.
+	 */
+	public List<Itinerary> toItineraries(List<TransitPath> transitPaths) {
+		Set<UnLocode> unLocodes = new HashSet<>();
+		Set<VoyageNumber> voyageNumbers = new HashSet<>();
+
+		for (TransitPath transitPath : transitPaths) {
+			for (TransitEdge edge : transitPath.getTransitEdges()) {
+				unLocodes.add(new UnLocode(edge.getFromUnLocode()));
+				unLocodes.add(new UnLocode(edge.getToUnLocode()));
+				voyageNumbers.add(new VoyageNumber(edge.getVoyageNumber()));
+			}
+		}
+
+		Map<String, Location> locations = new HashMap<>();
+
+		for (Location location : locationRepository.find(unLocodes)) {
+			locations.put(location.getUnLocode().getIdString(), location);
+		}
+
+		Map<String, Voyage> voyages = new HashMap<>();
+
+		for (Voyage voyage : voyageRepository.find(voyageNumbers)) {
+			voyages.put(voyage.getVoyageNumber().getIdString(), voyage);
+		}
+
+		List<Itinerary> itineraries = new ArrayList<>(transitPaths.size());
+
+		for (TransitPath transitPath : transitPaths) {
+			itineraries.add(toItinerary(transitPath, locations, voyages));
+		}
+
+		return itineraries;
+	}
+
+	private Itinerary toItinerary(TransitPath transitPath, Map<String, Location> locations,
+			Map<String, Voyage> voyages) {
+		List<Leg> legs = new ArrayList<>(transitPath.getTransitEdges().size());
+		for (TransitEdge edge : transitPath.getTransitEdges()) {
+			legs.add(toLeg(edge, locations, voyages));
+		}
+		return new Itinerary(legs);
+	}
+
+	private Leg toLeg(TransitEdge edge, Map<String, Location> locations, Map<String, Voyage> voyages) {
+		return new Leg(voyages.get(edge.getVoyageNumber()), locations.get(edge.getFromUnLocode()),
+				locations.get(edge.getToUnLocode()), edge.getFromDate(), edge.getToDate());
+	}
+}
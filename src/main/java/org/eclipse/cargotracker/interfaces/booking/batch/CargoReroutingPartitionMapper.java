@@ -0,0 +1,88 @@
+package org.eclipse.cargotracker.interfaces.booking.batch;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.batch.api.BatchProperty;
+import jakarta.batch.api.partition.PartitionMapper;
+import jakarta.batch.api.partition.PartitionPlan;
+import jakarta.batch.api.partition.PartitionPlanImpl;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+
+/**
+ * Spreads the cargo to re-route over a number of partitions, each of which
+ * looks up and assigns routes on its own thread.
+ * <p>
+ * On restart the cargo is looked up again, since re-routed cargo no longer
+ * needs it. A cargo always lands in the same partition, by the hash of its
+ * tracking ID, and the partition count is kept, so the readers can resume
+ * after the last tracking ID they checkpointed.
+ */
+@Dependent
+@Named("CargoReroutingPartitionMapper")
+public class CargoReroutingPartitionMapper implements PartitionMapper {
+
+	static final String TRACKING_IDS = "tracking_ids";
+
+	@Inject
+	private Logger logger;
+
+	@Inject
+	private CargoRepository cargoRepository;
+
+	@Inject
+	@BatchProperty
+	private String partitions;
+
+	@Override
+	public PartitionPlan mapPartitions() throws Exception {
+		List<TrackingId> trackingIds = cargoRepository.findTrackingIdsRequiringRerouting();
+		int count = Math.max(1, Integer.parseInt(partitions));
+
+		logger.log(Level.INFO, "Re-routing {0} cargo in {1} partitions", new Object[] { trackingIds.size(), count });
+
+		StringBuilder[] assigned = new StringBuilder[count];
+
+		for (int i = 0; i < count; i++) {
+			assigned[i] = new StringBuilder();
+		}
+
+		// Tracking IDs arrive sorted, so every partition is sorted as well.
+		for (TrackingId trackingId : trackingIds) {
+			StringBuilder partition = assigned[partitionOf(trackingId, count)];
+
+			if (partition.length() > 0) {
+				partition.append(',');
+			}
+
+			partition.append(trackingId.getIdString());
+		}
+
+		Properties[] properties = new Properties[count];
+
+		for (int i = 0; i < count; i++) {
+			properties[i] = new Properties();
+			properties[i].setProperty(TRACKING_IDS, assigned[i].toString());
+		}
+
+		PartitionPlanImpl plan = new PartitionPlanImpl();
+		plan.setPartitions(count);
+		plan.setThreads(count);
+		plan.setPartitionProperties(properties);
+		// Restarted partitions keep their checkpoints.
+		plan.setPartitionsOverride(false);
+
+		return plan;
+	}
+
+	private static int partitionOf(TrackingId trackingId, int count) {
+		return Math.floorMod(trackingId.getIdString().hashCode(), count);
+	}
+}
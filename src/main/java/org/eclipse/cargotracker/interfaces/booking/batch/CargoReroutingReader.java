@@ -0,0 +1,51 @@
+package org.eclipse.cargotracker.interfaces.booking.batch;
+
+import java.io.Serializable;
+
+import jakarta.batch.api.BatchProperty;
+import jakarta.batch.api.chunk.AbstractItemReader;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+
+/**
+ * Reads the tracking IDs assigned to a partition, in ascending order. The
+ * checkpoint is the last tracking ID read, rather than a position, since the
+ * partition is looked up again on restart and positions shift as cargo is
+ * re-routed.
+ */
+@Dependent
+@Named("CargoReroutingReader")
+public class CargoReroutingReader extends AbstractItemReader {
+
+	@Inject
+	@BatchProperty(name = CargoReroutingPartitionMapper.TRACKING_IDS)
+	private String trackingIds;
+
+	private String[] ids;
+	private int index;
+
+	@Override
+	public void open(Serializable checkpoint) throws Exception {
+		ids = trackingIds == null || trackingIds.isEmpty() ? new String[0] : trackingIds.split(",");
+		index = 0;
+
+		if (checkpoint != null) {
+			while (index < ids.length && ids[index].compareTo((String) checkpoint) <= 0) {
+				index++;
+			}
+		}
+	}
+
+	@Override
+	public Object readItem() throws Exception {
+		return index < ids.length ? new TrackingId(ids[index++]) : null;
+	}
+
+	@Override
+	public Serializable checkpointInfo() throws Exception {
+		return index == 0 ? null : ids[index - 1];
+	}
+}
@@ -0,0 +1,105 @@
+package org.eclipse.cargotracker.interfaces.booking.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.batch.api.BatchProperty;
+import jakarta.batch.api.chunk.AbstractItemWriter;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.eclipse.cargotracker.application.BookingService;
+import org.eclipse.cargotracker.domain.model.cargo.Cargo;
+import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
+import org.eclipse.cargotracker.domain.model.cargo.Leg;
+import org.eclipse.cargotracker.domain.model.cargo.RouteSpecification;
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.service.RoutingService;
+
+/**
+ * Looks up the routes for all cargo in a chunk concurrently, then assigns each
+ * cargo the itinerary preferred by the selection policy. The chunk transaction
+ * covers the assignments; the wait for the routes is bounded so that a stuck
+ * lookup fails the chunk well before that transaction times out.
+ */
+@Dependent
+@Named("CargoReroutingWriter")
+public class CargoReroutingWriter extends AbstractItemWriter {
+
+	@Inject
+	private Logger logger;
+
+	@Inject
+	private CargoRepository cargoRepository;
+	@Inject
+	private RoutingService routingService;
+	@Inject
+	private BookingService bookingService;
+
+	@Inject
+	@BatchProperty(name = "selection_policy")
+	private String selectionPolicy;
+
+	@Inject
+	@BatchProperty(name = "routing_timeout")
+	private String routingTimeout;
+
+	@Override
+	public void writeItems(List<Object> items) throws Exception {
+		ItinerarySelectionPolicy policy = ItinerarySelectionPolicy.valueOf(selectionPolicy);
+		List<Cargo> cargos = new ArrayList<>(items.size());
+		Set<RouteSpecification> routeSpecifications = new HashSet<>();
+
+		for (Object item : items) {
+			Cargo cargo = cargoRepository.find((TrackingId) item);
+
+			if (cargo != null) {
+				cargos.add(cargo);
+				routeSpecifications.add(cargo.getRouteSpecification());
+			}
+		}
+
+		CompletableFuture<Map<RouteSpecification, List<Itinerary>>> lookup = routingService
+				.fetchRoutesForSpecifications(routeSpecifications).toCompletableFuture();
+		Map<RouteSpecification, List<Itinerary>> routes;
+
+		try {
+			routes = lookup.get(Long.parseLong(routingTimeout), TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			lookup.cancel(true);
+			throw e;
+		}
+
+		for (Cargo cargo : cargos) {
+			Itinerary itinerary = policy.select(routes.get(cargo.getRouteSpecification()));
+
+			if (itinerary == null) {
+				logger.log(Level.WARNING, "No route found for cargo {0}", cargo.getTrackingId());
+			} else {
+				bookingService.assignCargoToRoute(copyOf(itinerary), cargo.getTrackingId());
+			}
+		}
+	}
+
+	// Cargo with the same route specification must not share legs.
+	private static Itinerary copyOf(Itinerary itinerary) {
+		List<Leg> legs = new ArrayList<>(itinerary.getLegs().size());
+
+		for (Leg leg : itinerary.getLegs()) {
+			legs.add(new Leg(leg.getVoyage(), leg.getLoadLocation(), leg.getUnloadLocation(), leg.getLoadTime(),
+					leg.getUnloadTime()));
+		}
+
+		return new Itinerary(legs);
+	}
+}
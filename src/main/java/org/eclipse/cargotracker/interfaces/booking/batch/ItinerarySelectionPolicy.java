@@ -0,0 +1,35 @@
+package org.eclipse.cargotracker.interfaces.booking.batch;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
+import org.eclipse.cargotracker.domain.model.cargo.Leg;
+
+/**
+ * How the re-routing job picks one of the candidate itineraries for a cargo.
+ */
+public enum ItinerarySelectionPolicy {
+
+	EARLIEST_ARRIVAL(Comparator.comparing(ItinerarySelectionPolicy::finalArrival)),
+	FEWEST_LEGS(Comparator.comparingInt((Itinerary itinerary) -> itinerary.getLegs().size())
+			.thenComparing(ItinerarySelectionPolicy::finalArrival));
+
+	private final Comparator<Itinerary> preference;
+
+	private ItinerarySelectionPolicy(Comparator<Itinerary> preference) {
+		this.preference = preference;
+	}
+
+	/**
+	 * @return The preferred itinerary, or null if there are no candidates.
+	 */
+	public Itinerary select(List<Itinerary> candidates) {
+		return candidates.stream().min(preference).orElse(null);
+	}
+
+	private static long finalArrival(Itinerary itinerary) {
+		List<Leg> legs = itinerary.getLegs();
+		return legs.get(legs.size() - 1).getUnloadTime().getTime();
+	}
+}
@@ -4,6 +4,7 @@ import java.util.Date;
 import java.util.List;
 
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRoute;
+import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRouteFilter;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoStatus;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.Location;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.RouteCandidate;
@@ -30,8 +31,18 @@ public interface BookingServiceFacade {
 
 	List<Location> listShippingLocations();
 
+	int countCargos(CargoRouteFilter filter);
+
+	/**
+	 * @param sortField A {@link CargoRoute} property, or null to sort by tracking
+	 *                  ID.
+	 */
 	// TODO [DDD] Is this the right DTO here?
-	List<CargoRoute> listAllCargos();
+	List<CargoRoute> listCargos(CargoRouteFilter filter, String sortField, boolean ascending, int firstResult,
+			int maxResults);
 
-	List<String> listAllTrackingIds();
+	/**
+	 * @return At most the given number of tracking IDs starting with the prefix.
+	 */
+	List<String> listTrackingIds(String prefix, int maxResults);
 }
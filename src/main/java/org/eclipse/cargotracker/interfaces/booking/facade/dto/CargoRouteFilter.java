@@ -0,0 +1,9 @@
+package org.eclipse.cargotracker.interfaces.booking.facade.dto;
+
+/**
+ * The subsets of cargo the admin cargo tables list.
+ */
+public enum CargoRouteFilter {
+
+	ROUTED_UNCLAIMED, NOT_ROUTED, CLAIMED
+}
@@ -12,14 +12,16 @@ public class CargoStatus {
 	private final String eta;
 	private final String nextExpectedActivity;
 	private final List<TrackingEvents> events;
+	private final boolean olderEventsOmitted;
 
 	public CargoStatus(String destination, String statusText, boolean misdirected, String eta,
-			String nextExpectedActivity, List<TrackingEvents> handlingEvents) {
+			String nextExpectedActivity, List<TrackingEvents> handlingEvents, boolean olderEventsOmitted) {
 		this.destination = destination;
 		this.statusText = statusText;
 		this.misdirected = misdirected;
 		this.eta = eta;
 		this.nextExpectedActivity = nextExpectedActivity;
+		this.olderEventsOmitted = olderEventsOmitted;
 		this.events = new ArrayList<>(handlingEvents.size());
 
 		for (TrackingEvents handlingEvent : handlingEvents) {
@@ -53,4 +55,11 @@ public class CargoStatus {
 	public List<TrackingEvents> getEvents() {
 		return Collections.unmodifiableList(events);
 	}
+
+	/**
+	 * @return Whether only the most recent events are included.
+	 */
+	public boolean isOlderEventsOmitted() {
+		return olderEventsOmitted;
+	}
 }
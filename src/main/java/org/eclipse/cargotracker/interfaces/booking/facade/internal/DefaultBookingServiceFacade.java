@@ -3,24 +3,33 @@ package org.eclipse.cargotracker.interfaces.booking.facade.internal;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.cargotracker.application.BookingService;
+import org.eclipse.cargotracker.application.CargoStatisticsService;
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.CargoRepository.SortKey;
 import org.eclipse.cargotracker.domain.model.cargo.Itinerary;
+import org.eclipse.cargotracker.domain.model.cargo.RoutingStatus;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
+import org.eclipse.cargotracker.domain.model.handling.HandlingHistory;
 import org.eclipse.cargotracker.domain.model.location.Location;
 import org.eclipse.cargotracker.domain.model.location.LocationRepository;
 import org.eclipse.cargotracker.domain.model.location.UnLocode;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
 import org.eclipse.cargotracker.interfaces.booking.facade.BookingServiceFacade;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRoute;
+import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRouteFilter;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoStatus;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.RouteCandidate;
 import org.eclipse.cargotracker.interfaces.booking.facade.internal.assembler.CargoRouteDtoAssembler;
@@ -33,10 +42,19 @@ import org.eclipse.microprofile.faulttolerance.Fallback;
 public class DefaultBookingServiceFacade implements BookingServiceFacade, Serializable {
 
 	private static final long serialVersionUID = 1L;
+	private static final int MAX_TRACKED_HANDLING_EVENTS = 50;
+	// CargoRoute properties the admin tables sort by.
+	private static final Map<String, SortKey> SORT_KEYS = Map.of("trackingId", SortKey.TRACKING_ID, "originName",
+			SortKey.ORIGIN, "finalDestinationName", SortKey.DESTINATION, "arrivalDeadlineDate",
+			SortKey.ARRIVAL_DEADLINE, "lastKnownLocationName", SortKey.LAST_KNOWN_LOCATION, "transportStatus",
+			SortKey.TRANSPORT_STATUS);
 
 	@Inject
 	private BookingService bookingService;
 
+	@Inject
+	private CargoStatisticsService cargoStatisticsService;
+
 	@Inject
 	private LocationRepository locationRepository;
 
@@ -96,8 +114,17 @@ public class DefaultBookingServiceFacade implements BookingServiceFacade, Serial
 
 	@Override
 	// TODO [DDD] Is this the correct DTO here?
-	public List<CargoRoute> listAllCargos() {
-		List<Cargo> cargos = cargoRepository.findAll();
+	public int countCargos(CargoRouteFilter filter) {
+		return (int) cargoStatisticsService.countCargo(routingStatuses(filter), transportStatuses(filter));
+	}
+
+	@Override
+	public List<CargoRoute> listCargos(CargoRouteFilter filter, String sortField, boolean ascending,
+			int firstResult, int maxResults) {
+		SortKey sortKey = sortField == null ? SortKey.TRACKING_ID
+				: SORT_KEYS.getOrDefault(sortField, SortKey.TRACKING_ID);
+		List<Cargo> cargos = cargoRepository.find(routingStatuses(filter), transportStatuses(filter), sortKey,
+				ascending, firstResult, maxResults);
 		List<CargoRoute> routes = new ArrayList<>(cargos.size());
 
 		CargoRouteDtoAssembler assembler = new CargoRouteDtoAssembler();
@@ -109,14 +136,31 @@ public class DefaultBookingServiceFacade implements BookingServiceFacade, Serial
 		return routes;
 	}
 
-	@Override
-	public List<String> listAllTrackingIds() {
-		List<String> trackingIds = new ArrayList<>();
+	private static Set<RoutingStatus> routingStatuses(CargoRouteFilter filter) {
+		switch (filter) {
+		case ROUTED_UNCLAIMED:
+			return EnumSet.of(RoutingStatus.ROUTED, RoutingStatus.MISROUTED);
+		case NOT_ROUTED:
+			return EnumSet.of(RoutingStatus.NOT_ROUTED);
+		default:
+			return EnumSet.allOf(RoutingStatus.class);
+		}
+	}
 
-		for (Cargo cargo : cargoRepository.findAll())
-			trackingIds.add(cargo.getTrackingId().getIdString());
+	private static Set<TransportStatus> transportStatuses(CargoRouteFilter filter) {
+		switch (filter) {
+		case ROUTED_UNCLAIMED:
+			return EnumSet.complementOf(EnumSet.of(TransportStatus.CLAIMED));
+		case CLAIMED:
+			return EnumSet.of(TransportStatus.CLAIMED);
+		default:
+			return EnumSet.allOf(TransportStatus.class);
+		}
+	}
 
-		return trackingIds;
+	@Override
+	public List<String> listTrackingIds(String prefix, int maxResults) {
+		return cargoRepository.findTrackingIdsStartingWith(prefix, maxResults);
 	}
 
 	@Override
@@ -130,10 +174,13 @@ public class DefaultBookingServiceFacade implements BookingServiceFacade, Serial
 
 		CargoStatusDtoAssembler assembler = new CargoStatusDtoAssembler();
 
-		List<HandlingEvent> handlingEvents = handlingEventRepository.lookupHandlingHistoryOfCargo(trackingId)
-				.getDistinctEventsByCompletionTime();
+		// One more than shown, to tell whether older events are left out.
+		List<HandlingEvent> handlingEvents = handlingEventRepository.lookupMostRecentlyCompletedEvents(trackingId,
+				MAX_TRACKED_HANDLING_EVENTS + 1);
 
-		return assembler.toDto(cargo, handlingEvents);
+		return assembler.toDto(cargo,
+				new HandlingHistory(handlingEvents).getMostRecentDistinctEvents(MAX_TRACKED_HANDLING_EVENTS),
+				handlingEvents.size() > MAX_TRACKED_HANDLING_EVENTS);
 	}
 
 	@Override
@@ -17,7 +17,7 @@ public class CargoStatusDtoAssembler {
 
 	private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MM/dd/yyyy hh:mm a z");
 
-	public CargoStatus toDto(Cargo cargo, List<HandlingEvent> handlingEvents) {
+	public CargoStatus toDto(Cargo cargo, List<HandlingEvent> handlingEvents, boolean olderEventsOmitted) {
 		List<TrackingEvents> trackingEvents = new ArrayList<>(handlingEvents.size());
 
 		TrackingEventsDtoAssembler assembler = new TrackingEventsDtoAssembler();
@@ -27,7 +27,8 @@ public class CargoStatusDtoAssembler {
 		}
 
 		return new CargoStatus(cargo.getRouteSpecification().getDestination().getName(), getCargoStatusText(cargo),
-				cargo.getDelivery().isMisdirected(), getEta(cargo), getNextExpectedActivity(cargo), trackingEvents);
+				cargo.getDelivery().isMisdirected(), getEta(cargo), getNextExpectedActivity(cargo), trackingEvents,
+				olderEventsOmitted);
 	}
 
 	private String getCargoStatusText(Cargo cargo) {
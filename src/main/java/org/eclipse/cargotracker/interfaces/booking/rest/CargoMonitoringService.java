@@ -1,22 +1,33 @@
 package org.eclipse.cargotracker.interfaces.booking.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import jakarta.annotation.Resource;
+import jakarta.ejb.SessionContext;
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
-import jakarta.json.JsonObjectBuilder;
+import jakarta.json.stream.JsonGenerator;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
+import org.eclipse.microprofile.metrics.Timer;
 import org.eclipse.microprofile.metrics.annotation.Counted;
-import org.eclipse.microprofile.metrics.annotation.Timed;
+import org.eclipse.microprofile.metrics.annotation.Metric;
 
 @Stateless
 @Path("/cargo")
@@ -26,32 +37,64 @@ public class CargoMonitoringService {
 
 	@Inject
 	private CargoRepository cargoRepository;
+	@Resource
+	private SessionContext sessionContext;
+	/** Times the whole response being written, not just this method returning. */
+	@Inject
+	@Metric(name = "getAllCargoTiming", tags = {"type=performance"})
+	private Timer timer;
 
+	/**
+	 * Writes the cargo as it is read a page at a time, so neither the cargo nor
+	 * the JSON is ever held in memory as a whole.
+	 *
+	 * @param locations UN/LOCODEs to only write the cargo shown at, i.e. at its
+	 *                  origin until received and at its last known location
+	 *                  after that. All cargo if none are given.
+	 */
 	@GET
 	@Produces(MediaType.APPLICATION_JSON)
 	@Counted(name = "getAllCargo", absolute = true)
-	@Timed(name = "getAllCargoTiming", tags = {"type=performance"})
-	public JsonArray getAllCargo() {
-		List<Cargo> cargos = cargoRepository.findAll();
-
-		JsonArrayBuilder builder = Json.createArrayBuilder();
+	public StreamingOutput getAllCargo(@QueryParam("location") List<String> locations) {
+		// The output is written after this method returns, so it goes through
+		// the business object again to be timed and read as the container says.
+		CargoMonitoringService self = sessionContext.getBusinessObject(CargoMonitoringService.class);
+		Set<String> shownAt = new HashSet<>(locations);
+		return output -> self.writeAllCargo(output, shownAt);
+	}
 
-		for (Cargo cargo : cargos) {
-			builder.add(cargoToJson(cargo));
+	/**
+	 * Runs without a transaction, so a slow client holds neither a transaction nor
+	 * a persistence context. Every page is read on its own and comes back
+	 * detached.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void writeAllCargo(OutputStream output, Set<String> locations) throws IOException {
+		try (Timer.Context timing = timer.time();
+				JsonGenerator generator = Json.createGenerator(output);
+				Stream<Cargo> cargos = cargoRepository.streamAll()) {
+			generator.writeStartArray();
+			cargos.filter(cargo -> locations.isEmpty() || locations.contains(shownAt(cargo)))
+					.forEach(cargo -> writeCargo(generator, cargo));
+			generator.writeEnd();
 		}
+	}
 
-		return builder.build();
+	private static String shownAt(Cargo cargo) {
+		return (cargo.getDelivery().getTransportStatus() == TransportStatus.NOT_RECEIVED ? cargo.getOrigin()
+				: cargo.getDelivery().getLastKnownLocation()).getUnLocode().getIdString();
 	}
 
-	private JsonObjectBuilder cargoToJson(Cargo cargo) {
-		return Json.createObjectBuilder().add("trackingId", cargo.getTrackingId().getIdString())
-				.add("routingStatus", cargo.getDelivery().getRoutingStatus().toString())
-				.add("misdirected", cargo.getDelivery().isMisdirected())
-				.add("transportStatus", cargo.getDelivery().getTransportStatus().toString())
-				.add("atDestination", cargo.getDelivery().isUnloadedAtDestination())
-				.add("origin", cargo.getOrigin().getUnLocode().getIdString()).add("lastKnownLocation",
+	private static void writeCargo(JsonGenerator generator, Cargo cargo) {
+		generator.writeStartObject().write("trackingId", cargo.getTrackingId().getIdString())
+				.write("routingStatus", cargo.getDelivery().getRoutingStatus().toString())
+				.write("misdirected", cargo.getDelivery().isMisdirected())
+				.write("transportStatus", cargo.getDelivery().getTransportStatus().toString())
+				.write("atDestination", cargo.getDelivery().isUnloadedAtDestination())
+				.write("origin", cargo.getOrigin().getUnLocode().getIdString()).write("lastKnownLocation",
 						cargo.getDelivery().getLastKnownLocation().getUnLocode().getIdString().equals("XXXXX")
 								? "Unknown"
-								: cargo.getDelivery().getLastKnownLocation().getUnLocode().getIdString());
+								: cargo.getDelivery().getLastKnownLocation().getUnLocode().getIdString())
+				.writeEnd();
 	}
 }
@@ -0,0 +1,38 @@
+package org.eclipse.cargotracker.interfaces.booking.rest;
+
+import java.util.Properties;
+
+import jakarta.batch.runtime.BatchRuntime;
+import jakarta.ejb.Stateless;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+import org.eclipse.cargotracker.interfaces.booking.batch.ItinerarySelectionPolicy;
+
+/**
+ * Starts re-routing all misdirected and misrouted cargo, e.g. after a port
+ * closure.
+ */
+@Stateless
+@Path("/rerouting")
+public class CargoReroutingService {
+
+	@POST
+	@Produces(MediaType.APPLICATION_JSON)
+	public JsonObject reroute(@QueryParam("policy") ItinerarySelectionPolicy policy) {
+		Properties parameters = new Properties();
+
+		if (policy != null) {
+			parameters.setProperty("selection_policy", policy.name());
+		}
+
+		long executionId = BatchRuntime.getJobOperator().start("CargoReroutingJob", parameters);
+
+		return Json.createObjectBuilder().add("executionId", executionId).build();
+	}
+}
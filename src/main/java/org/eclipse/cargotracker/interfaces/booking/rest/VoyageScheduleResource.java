@@ -0,0 +1,34 @@
+package org.eclipse.cargotracker.interfaces.booking.rest;
+
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+
+import org.eclipse.cargotracker.application.VoyageScheduleService;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+
+/**
+ * Reports voyage delays. The changed schedule is patched into the routing graph
+ * right away, so new route candidates take the delay into account.
+ */
+@Stateless
+@Path("/voyages")
+public class VoyageScheduleResource {
+
+	@Inject
+	private VoyageScheduleService voyageScheduleService;
+
+	@POST
+	@Path("/{voyageNumber}/delay")
+	public void delayDeparture(@PathParam("voyageNumber") String voyageNumber,
+			@NotNull(message = "Location is required.") @QueryParam("location") String unLocode,
+			@Min(value = 1, message = "Delay must be at least one minute.") @QueryParam("minutes") int minutes) {
+		voyageScheduleService.delayDeparture(new VoyageNumber(voyageNumber), new UnLocode(unLocode), minutes);
+	}
+}
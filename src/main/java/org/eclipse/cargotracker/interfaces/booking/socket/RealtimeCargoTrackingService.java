@@ -1,70 +1,240 @@
 package org.eclipse.cargotracker.interfaces.booking.socket;
 
-import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
 import jakarta.ejb.Singleton;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
+import jakarta.jms.JMSRuntimeException;
 import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 
 import org.eclipse.cargotracker.domain.model.cargo.Cargo;
+import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
+import org.eclipse.cargotracker.domain.model.location.Location;
 import org.eclipse.cargotracker.infrastructure.events.cdi.CargoInspected;
+import org.eclipse.cargotracker.infrastructure.messaging.jms.CargoTrackingBroadcaster;
+import org.eclipse.cargotracker.interfaces.booking.socket.TrackingSubscriptions.Type;
 
 /**
  * WebSocket service for tracking all cargoes in real time.
+ * <p>
+ * Updates are serialized once, handed to a sender thread and conflated per
+ * session, keeping only the latest update of each cargo. Every flush interval
+ * the pending updates of a session go out as a single JSON array, so bursts of
+ * inspections do not turn into bursts of frames, and inspecting cargo never
+ * waits for the clients. What happens to clients that fall behind is
+ * configurable.
+ * <p>
+ * Updates are also shared with the other nodes of a cluster through
+ * {@link CargoTrackingBroadcaster}, so clients can connect to any node.
+ * <p>
+ * Clients receive every update until they narrow it down by sending a
+ * subscription, which replaces any previous one:
+ *
+ * <pre>
+ * {"action": "subscribe", "trackingIds": ["ABC123"], "locations": ["SESTO"], "transportStatuses": ["CLAIMED"]}
+ * </pre>
+ *
+ * An update is sent if it matches any of the given tracking IDs, current
+ * locations or transport statuses. <code>{"action": "subscribe", "all": true}</code>
+ * goes back to receiving everything.
  */
 @Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 @ServerEndpoint("/tracking")
 public class RealtimeCargoTrackingService {
 
     @Inject
     private Logger logger;
 
-	private final Set<Session> sessions = new HashSet<>();
+	@Inject
+	private CargoTrackingBroadcaster cargoTrackingBroadcaster;
+
+	@Resource
+	private ManagedExecutorService executorService;
+
+	@Resource
+	private ManagedScheduledExecutorService scheduledExecutorService;
+
+	@Resource(lookup = "java:app/configuration/TrackingSessionQueueSize")
+	private int queueSize;
+
+	@Resource(lookup = "java:app/configuration/TrackingFlushInterval")
+	private long flushInterval;
+
+	@Resource(lookup = "java:app/configuration/TrackingSlowConsumerPolicy")
+	private String slowConsumerPolicy;
+
+	private final Map<Session, TrackingSession> sessions = new ConcurrentHashMap<>();
+	private final TrackingSubscriptions subscriptions = new TrackingSubscriptions();
+	private ScheduledFuture<?> flushes;
+
+	@PostConstruct
+	public void init() {
+		flushes = scheduledExecutorService.scheduleAtFixedRate(this::flush, flushInterval, flushInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		flushes.cancel(false);
+	}
 
 	@OnOpen
 	public void onOpen(final Session session) {
 		// Infinite by default on GlassFish. We need this principally for WebLogic.
 		session.setMaxIdleTimeout(5 * 60 * 1000);
-		sessions.add(session);
+		TrackingSession trackingSession = new TrackingSession(session, queueSize,
+				SlowConsumerPolicy.valueOf(slowConsumerPolicy), logger);
+		sessions.put(session, trackingSession);
+		subscriptions.add(trackingSession);
+	}
+
+	@OnMessage
+	public void onMessage(final Session session, String message) {
+		TrackingSession trackingSession = sessions.get(session);
+
+		if (trackingSession == null) {
+			return;
+		}
+
+		try (JsonReader reader = Json.createReader(new StringReader(message))) {
+			JsonObject subscription = reader.readObject();
+
+			if (!"subscribe".equals(subscription.getString("action", null))) {
+				logger.log(Level.FINE, "Ignoring unknown tracking message {0}", message);
+				return;
+			}
+
+			Set<String> keys = new HashSet<>();
+			addKeys(keys, Type.TRACKING_ID, subscription.getJsonArray("trackingIds"));
+			addKeys(keys, Type.LOCATION, subscription.getJsonArray("locations"));
+			addKeys(keys, Type.TRANSPORT_STATUS, subscription.getJsonArray("transportStatuses"));
+
+			subscriptions.subscribe(trackingSession, subscription.getBoolean("all", false), keys);
+		} catch (JsonException | ClassCastException e) {
+			logger.log(Level.FINE, "Ignoring malformed tracking subscription", e);
+		}
 	}
 
 	@OnClose
 	public void onClose(final Session session) {
-		sessions.remove(session);
+		remove(session);
 	}
 
-	public void onCargoInspected(@Observes @CargoInspected Cargo cargo) {
+	@OnError
+	public void onError(final Session session, Throwable error) {
+		logger.log(Level.FINE, "WebSocket session failed", error);
+		remove(session);
+	}
+
+	/**
+	 * Only committed inspections are shown, and a failure to show one never rolls
+	 * back the inspection.
+	 */
+	public void onCargoInspected(@Observes(during = TransactionPhase.AFTER_SUCCESS) @CargoInspected Cargo cargo) {
+		String trackingId = cargo.getTrackingId().getIdString();
+		// Not received cargo is shown at its origin.
+		Location location = cargo.getDelivery().getTransportStatus() == TransportStatus.NOT_RECEIVED
+				? cargo.getOrigin()
+				: cargo.getDelivery().getLastKnownLocation();
 		Writer writer = new StringWriter();
 
 		try (JsonGenerator generator = Json.createGenerator(writer)) {
-			generator.writeStartObject().write("trackingId", cargo.getTrackingId().getIdString())
+			generator.writeStartObject().write("trackingId", trackingId)
 					.write("origin", cargo.getOrigin().getName())
 					.write("destination", cargo.getRouteSpecification().getDestination().getName())
 					.write("lastKnownLocation", cargo.getDelivery().getLastKnownLocation().getName())
+					.write("location", location.getUnLocode().getIdString())
+					.write("routingStatus", cargo.getDelivery().getRoutingStatus().toString())
+					.write("misdirected", cargo.getDelivery().isMisdirected())
+					.write("atDestination", cargo.getDelivery().isUnloadedAtDestination())
 					.write("transportStatus", cargo.getDelivery().getTransportStatus().toString()).writeEnd();
 		}
 
 		String jsonValue = writer.toString();
+		String locationCode = location.getUnLocode().getIdString();
+		String transportStatus = cargo.getDelivery().getTransportStatus().name();
 
-		for (Session session : sessions) {
-			try {
-				session.getBasicRemote().sendText(jsonValue);
-			} catch (IOException ex) {
-				logger.log(Level.WARNING, "Unable to publish WebSocket message", ex);
-			}
+		relay(trackingId, locationCode, transportStatus, jsonValue);
+
+		// Best effort, other nodes relay it to their clients.
+		try {
+			cargoTrackingBroadcaster.publish(trackingId, locationCode, transportStatus, jsonValue);
+		} catch (JMSRuntimeException e) {
+			logger.log(Level.WARNING, "Cannot share tracking update of cargo " + trackingId + " with other nodes", e);
+		}
+	}
+
+	/**
+	 * Delivers an update to the interested clients on this node.
+	 *
+	 * @param update The serialized update.
+	 */
+	public void relay(String trackingId, String location, String transportStatus, String update) {
+		if (sessions.isEmpty()) {
+			return;
+		}
+
+		String[] keys = { Type.TRACKING_ID.key(trackingId), Type.LOCATION.key(location),
+				Type.TRANSPORT_STATUS.key(transportStatus) };
+
+		executorService.execute(() -> publish(trackingId, update, keys));
+	}
+
+	private void publish(String trackingId, String update, String[] keys) {
+		subscriptions.forEachSubscriber(session -> session.send(trackingId, update), keys);
+	}
+
+	private void flush() {
+		for (TrackingSession session : sessions.values()) {
+			session.flush();
+		}
+	}
+
+	private void remove(Session session) {
+		TrackingSession trackingSession = sessions.remove(session);
+
+		if (trackingSession != null) {
+			subscriptions.remove(trackingSession);
 		}
+	}
 
+	private static void addKeys(Set<String> keys, Type type, JsonArray values) {
+		if (values != null) {
+			for (JsonString value : values.getValuesAs(JsonString.class)) {
+				keys.add(type.key(value.getString()));
+			}
+		}
 	}
 }
@@ -0,0 +1,14 @@
+package org.eclipse.cargotracker.interfaces.booking.socket;
+
+/**
+ * What to do with a tracking client whose outbound queue is full.
+ */
+public enum SlowConsumerPolicy {
+
+	/** Discard the oldest queued update to make room for the new one. */
+	DROP_OLDEST,
+	/** Discard the new update. */
+	DROP_NEWEST,
+	/** Close the session, the client may reconnect. */
+	DISCONNECT
+}
@@ -0,0 +1,133 @@
+package org.eclipse.cargotracker.interfaces.booking.socket;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.CloseReason.CloseCodes;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+/**
+ * A connected tracking client. Updates are conflated, only the latest one per
+ * cargo is kept until the next flush sends all of them as a single JSON array
+ * through the asynchronous remote. At most one frame is in flight, so
+ * publishing never waits for the client.
+ */
+class TrackingSession {
+
+	private final Session session;
+	private final int maxPending;
+	private final SlowConsumerPolicy policy;
+	private final Logger logger;
+	// Latest update per tracking ID, guarded by itself.
+	private final Map<String, String> pending = new LinkedHashMap<>();
+	private final AtomicBoolean sending = new AtomicBoolean();
+	private volatile Set<String> subscriptionKeys = Collections.emptySet();
+
+	TrackingSession(Session session, int maxPending, SlowConsumerPolicy policy, Logger logger) {
+		this.session = session;
+		this.maxPending = maxPending;
+		this.policy = policy;
+		this.logger = logger;
+	}
+
+	Session getSession() {
+		return session;
+	}
+
+	Set<String> getSubscriptionKeys() {
+		return subscriptionKeys;
+	}
+
+	void setSubscriptionKeys(Set<String> subscriptionKeys) {
+		this.subscriptionKeys = subscriptionKeys;
+	}
+
+	/**
+	 * Replaces any pending update of the cargo without blocking. If updates of too
+	 * many cargo are pending, the slow consumer policy applies.
+	 *
+	 * @param update A serialized JSON object, shared between sessions.
+	 */
+	void send(String trackingId, String update) {
+		synchronized (pending) {
+			if (pending.remove(trackingId) != null || pending.size() < maxPending) {
+				pending.put(trackingId, update);
+				return;
+			}
+
+			switch (policy) {
+			case DROP_OLDEST:
+				Iterator<String> oldest = pending.values().iterator();
+				oldest.next();
+				oldest.remove();
+				pending.put(trackingId, update);
+				return;
+			case DROP_NEWEST:
+				return;
+			case DISCONNECT:
+				pending.clear();
+				break;
+			}
+		}
+
+		close("Too slow to keep up with updates");
+	}
+
+	/**
+	 * Sends the pending updates as one frame, unless the previous frame is still
+	 * in flight.
+	 */
+	void flush() {
+		if (!sending.compareAndSet(false, true)) {
+			return;
+		}
+
+		StringBuilder frame = new StringBuilder("[");
+
+		synchronized (pending) {
+			if (pending.isEmpty()) {
+				sending.set(false);
+				return;
+			}
+
+			for (String update : pending.values()) {
+				frame.append(frame.length() == 1 ? "" : ",").append(update);
+			}
+
+			pending.clear();
+		}
+
+		try {
+			session.getAsyncRemote().sendText(frame.append(']').toString(), this::onSent);
+		} catch (IllegalStateException e) {
+			// Closed in the meantime.
+			sending.set(false);
+		}
+	}
+
+	private void onSent(SendResult result) {
+		sending.set(false);
+
+		if (!result.isOK()) {
+			logger.log(Level.WARNING, "Unable to publish WebSocket message", result.getException());
+			close("Unable to publish update");
+		}
+	}
+
+	private void close(String reason) {
+		try {
+			session.close(new CloseReason(CloseCodes.TRY_AGAIN_LATER, reason));
+		} catch (IOException e) {
+			logger.log(Level.FINE, "Unable to close WebSocket session", e);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package org.eclipse.cargotracker.interfaces.booking.socket;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Indexes tracking sessions by what they subscribed to, so an update is only
+ * looked at by the sessions interested in it. Sessions that never subscribed
+ * receive every update.
+ */
+class TrackingSubscriptions {
+
+	/**
+	 * What an update can be selected by.
+	 */
+	enum Type {
+		TRACKING_ID, LOCATION, TRANSPORT_STATUS;
+
+		String key(String value) {
+			return name() + ':' + value;
+		}
+	}
+
+	private final Set<TrackingSession> everything = ConcurrentHashMap.newKeySet();
+	private final Map<String, Set<TrackingSession>> index = new ConcurrentHashMap<>();
+
+	void add(TrackingSession session) {
+		everything.add(session);
+	}
+
+	/**
+	 * Replaces the subscription of a session.
+	 *
+	 * @param all  Whether the session wants every update again.
+	 * @param keys Built with {@link Type#key(String)}.
+	 */
+	void subscribe(TrackingSession session, boolean all, Set<String> keys) {
+		synchronized (session) {
+			unindex(session);
+
+			if (all) {
+				everything.add(session);
+			} else {
+				everything.remove(session);
+
+				for (String key : keys) {
+					index.compute(key, (k, sessions) -> {
+						Set<TrackingSession> updated = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+						updated.add(session);
+						return updated;
+					});
+				}
+
+				session.setSubscriptionKeys(keys);
+			}
+		}
+	}
+
+	void remove(TrackingSession session) {
+		synchronized (session) {
+			everything.remove(session);
+			unindex(session);
+		}
+	}
+
+	/**
+	 * Passes every session subscribed to any of the keys to the action, each once,
+	 * without copying the subscribers.
+	 */
+	void forEachSubscriber(Consumer<TrackingSession> action, String... keys) {
+		everything.forEach(action);
+
+		@SuppressWarnings("unchecked")
+		Set<TrackingSession>[] subscribers = new Set[keys.length];
+
+		for (int i = 0; i < keys.length; i++) {
+			subscribers[i] = index.getOrDefault(keys[i], Collections.emptySet());
+
+			for (TrackingSession session : subscribers[i]) {
+				if (!everything.contains(session) && !subscribedBefore(session, subscribers, i)) {
+					action.accept(session);
+				}
+			}
+		}
+	}
+
+	private static boolean subscribedBefore(TrackingSession session, Set<TrackingSession>[] subscribers, int key) {
+		for (int i = 0; i < key; i++) {
+			if (subscribers[i].contains(session)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void unindex(TrackingSession session) {
+		for (String key : session.getSubscriptionKeys()) {
+			index.computeIfPresent(key, (k, sessions) -> {
+				sessions.remove(session);
+				return sessions.isEmpty() ? null : sessions;
+			});
+		}
+
+		session.setSubscriptionKeys(Collections.emptySet());
+	}
+}
@@ -0,0 +1,56 @@
+package org.eclipse.cargotracker.interfaces.booking.web;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cargotracker.interfaces.booking.facade.BookingServiceFacade;
+import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRoute;
+import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRouteFilter;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.model.SortOrder;
+
+/**
+ * Pages through one of the admin cargo tables, leaving counting, sorting and
+ * paging to the database.
+ */
+public class CargoRouteDataModel extends LazyDataModel<CargoRoute> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BookingServiceFacade bookingServiceFacade;
+	private final CargoRouteFilter filter;
+
+	public CargoRouteDataModel(BookingServiceFacade bookingServiceFacade, CargoRouteFilter filter) {
+		this.bookingServiceFacade = bookingServiceFacade;
+		this.filter = filter;
+	}
+
+	@Override
+	public int count(Map<String, FilterMeta> filterBy) {
+		return bookingServiceFacade.countCargos(filter);
+	}
+
+	@Override
+	public List<CargoRoute> load(int first, int pageSize, Map<String, SortMeta> sortBy,
+			Map<String, FilterMeta> filterBy) {
+		String sortField = null;
+		boolean ascending = true;
+
+		for (SortMeta sort : sortBy.values()) {
+			if (sort.isActive()) {
+				sortField = sort.getField();
+				ascending = sort.getOrder() != SortOrder.DESCENDING;
+				break;
+			}
+		}
+
+		return bookingServiceFacade.listCargos(filter, sortField, ascending, first, pageSize);
+	}
+
+	@Override
+	public String getRowKey(CargoRoute cargo) {
+		return cargo.getTrackingId();
+	}
+}
@@ -1,8 +1,5 @@
 package org.eclipse.cargotracker.interfaces.booking.web;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
@@ -10,6 +7,8 @@ import jakarta.inject.Named;
 
 import org.eclipse.cargotracker.interfaces.booking.facade.BookingServiceFacade;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRoute;
+import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRouteFilter;
+import org.primefaces.model.LazyDataModel;
 
 /**
  * Handles listing cargo. Operates against a dedicated service facade, and could
@@ -21,70 +20,49 @@ import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoRoute;
  * tracking controller. However, there is never any one perfect solution for all
  * situations, so we've chosen to demonstrate two polarized ways to build user
  * interfaces.
+ * <p/>
+ * The tables are lazy, each page is counted, sorted and fetched by the
+ * database so that the cost does not grow with the number of cargo.
  */
 @Named
 @RequestScoped
 public class ListCargo {
 
-	private List<CargoRoute> cargos;
-	private List<CargoRoute> routedCargos;
-	private List<CargoRoute> claimedCargos;
-	private List<CargoRoute> routedUnclaimedCargos;
+	private LazyDataModel<CargoRoute> routedUnclaimedCargos;
+	private LazyDataModel<CargoRoute> claimedCargos;
+	private LazyDataModel<CargoRoute> notRoutedCargos;
 
 	@Inject
 	private BookingServiceFacade bookingServiceFacade;
 
-	public List<CargoRoute> getCargos() {
-		return cargos;
-	}
-
 	@PostConstruct
 	public void init() {
-		cargos = bookingServiceFacade.listAllCargos();
+		routedUnclaimedCargos = new CargoRouteDataModel(bookingServiceFacade, CargoRouteFilter.ROUTED_UNCLAIMED);
+		claimedCargos = new CargoRouteDataModel(bookingServiceFacade, CargoRouteFilter.CLAIMED);
+		notRoutedCargos = new CargoRouteDataModel(bookingServiceFacade, CargoRouteFilter.NOT_ROUTED);
 	}
 
-	public List<CargoRoute> getRoutedCargos() {
-		routedCargos = new ArrayList<>();
-
-		for (CargoRoute route : cargos) {
-			if (route.isRouted()) {
-				routedCargos.add(route);
-			}
-		}
+	public int getRoutedUnclaimedCount() {
+		return bookingServiceFacade.countCargos(CargoRouteFilter.ROUTED_UNCLAIMED);
+	}
 
-		return routedCargos;
+	public int getClaimedCount() {
+		return bookingServiceFacade.countCargos(CargoRouteFilter.CLAIMED);
 	}
 
-	public List<CargoRoute> getRoutedUnclaimedCargos() {
-		routedUnclaimedCargos = new ArrayList<>();
-		for (CargoRoute route : cargos) {
-			if (route.isRouted() && !route.isClaimed()) {
-				routedUnclaimedCargos.add(route);
-			}
-		}
+	public int getNotRoutedCount() {
+		return bookingServiceFacade.countCargos(CargoRouteFilter.NOT_ROUTED);
+	}
 
+	public LazyDataModel<CargoRoute> getRoutedUnclaimedCargos() {
 		return routedUnclaimedCargos;
 	}
 
-	public List<CargoRoute> getClaimedCargos() {
-		claimedCargos = new ArrayList<>();
-
-		for (CargoRoute route : cargos) {
-			if (route.isClaimed()) {
-				claimedCargos.add(route);
-			}
-		}
-
+	public LazyDataModel<CargoRoute> getClaimedCargos() {
 		return claimedCargos;
 	}
 
-	public List<CargoRoute> getNotRoutedCargos() {
-		List<CargoRoute> notRoutedCargos = new ArrayList<>();
-
-		for (CargoRoute route : cargos)
-			if (!route.isRouted())
-				notRoutedCargos.add(route);
-
+	public LazyDataModel<CargoRoute> getNotRoutedCargos() {
 		return notRoutedCargos;
 	}
 }
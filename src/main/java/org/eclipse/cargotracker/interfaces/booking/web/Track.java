@@ -9,7 +9,6 @@ import jakarta.faces.view.ViewScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
-import jakarta.annotation.PostConstruct;
 import org.eclipse.cargotracker.interfaces.booking.facade.BookingServiceFacade;
 import org.eclipse.cargotracker.interfaces.booking.facade.dto.CargoStatus;
 
@@ -33,12 +32,13 @@ public class Track implements Serializable {
 	@Inject
 	private BookingServiceFacade bookingServiceFacade;
 
-	private List<String> trackingIds;
+	private static final int MAX_SUGGESTIONS = 10;
+
 	private String trackingId;
 	private CargoStatus cargo;
 
 	public List<String> getTrackingIds(String query) {
-		return trackingIds;
+		return bookingServiceFacade.listTrackingIds(query.trim().toUpperCase(), MAX_SUGGESTIONS);
 	}
 
 	public String getTrackingId() {
@@ -53,11 +53,6 @@ public class Track implements Serializable {
 		return this.cargo;
 	}
 
-	@PostConstruct
-	public void init() {
-		trackingIds = bookingServiceFacade.listAllTrackingIds();
-	}
-
 	public void onTrackById() {
 		cargo = bookingServiceFacade.loadCargoForTracking(this.trackingId);
 
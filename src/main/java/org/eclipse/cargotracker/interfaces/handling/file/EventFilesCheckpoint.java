@@ -2,19 +2,24 @@ package org.eclipse.cargotracker.interfaces.handling.file;
 
 import java.io.File;
 import java.io.Serializable;
-import java.util.LinkedList;
-import java.util.List;
 
+/**
+ * Position of a partition within the byte range of the file it reads.
+ */
 public class EventFilesCheckpoint implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
-	private List<File> files = new LinkedList<>();
-	private int fileIndex = 0;
-	private long filePointer = 0;
+	private final File file;
+	private long filePointer;
 
-	public void setFiles(List<File> files) {
-		this.files = files;
+	public EventFilesCheckpoint(File file, long filePointer) {
+		this.file = file;
+		this.filePointer = filePointer;
+	}
+
+	public File getFile() {
+		return file;
 	}
 
 	public long getFilePointer() {
@@ -24,22 +29,4 @@ public class EventFilesCheckpoint implements Serializable {
 	public void setFilePointer(long filePointer) {
 		this.filePointer = filePointer;
 	}
-
-	public File currentFile() {
-		if (files.size() > fileIndex) {
-			return files.get(fileIndex);
-		} else {
-			return null;
-		}
-	}
-
-	public File nextFile() {
-		filePointer = 0;
-
-		if (files.size() > ++fileIndex) {
-			return files.get(fileIndex);
-		} else {
-			return null;
-		}
-	}
 }
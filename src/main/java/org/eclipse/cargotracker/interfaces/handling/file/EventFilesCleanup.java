@@ -0,0 +1,44 @@
+package org.eclipse.cargotracker.interfaces.handling.file;
+
+import java.io.File;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.batch.api.AbstractBatchlet;
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.context.JobContext;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Deletes the files of this job instance once all partitions have processed
+ * them.
+ */
+@Dependent
+@Named("EventFilesCleanup")
+public class EventFilesCleanup extends AbstractBatchlet {
+
+	@Inject
+	private Logger logger;
+
+	@Inject
+	private JobContext jobContext;
+
+	@Override
+	public String process() throws Exception {
+		File processingDirectory = EventFilesPartitionMapper.processingDirectory(jobContext);
+		File[] files = processingDirectory.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				logger.log(Level.INFO, "Finished processing file, deleting: {0}", file);
+				file.delete();
+			}
+		}
+
+		processingDirectory.delete();
+
+		return BatchStatus.COMPLETED.name();
+	}
+}
@@ -0,0 +1,192 @@
+package org.eclipse.cargotracker.interfaces.handling.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.batch.api.BatchProperty;
+import jakarta.batch.operations.JobOperator;
+import jakarta.batch.api.partition.PartitionMapper;
+import jakarta.batch.api.partition.PartitionPlan;
+import jakarta.batch.api.partition.PartitionPlanImpl;
+import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.context.JobContext;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Claims the uploaded files for this job instance by moving them into its own
+ * processing directory, then assigns every file to a partition. Files larger
+ * than the partition size are split into several partitions at line
+ * boundaries.
+ * <p/>
+ * Files left in the processing directory of an instance that is no longer
+ * running, e.g. because it failed, are claimed again as well, as the scanner
+ * never restarts an instance.
+ */
+@Dependent
+@Named("EventFilesPartitionMapper")
+public class EventFilesPartitionMapper implements PartitionMapper {
+
+	static final String PARTITION = "partition";
+	static final String FILE = "file";
+	static final String START = "start";
+	static final String END = "end";
+
+	private static final String UPLOAD_DIRECTORY = "upload_directory";
+	private static final String PROCESSING_DIRECTORY = "processing_directory";
+
+	@Inject
+	private Logger logger;
+
+	@Inject
+	private JobContext jobContext;
+
+	@Inject
+	@BatchProperty(name = "partition_size")
+	private String partitionSize;
+
+	@Override
+	public PartitionPlan mapPartitions() throws Exception {
+		File processingDirectory = processingDirectory(jobContext);
+
+		if (!processingDirectory.exists()) {
+			processingDirectory.mkdirs();
+			claimAbandonedFiles(processingDirectory);
+			claimUploadedFiles(processingDirectory);
+		} else {
+			// Restart, use the files claimed the first time round.
+			logger.log(Level.INFO, "Resuming files in: {0}", processingDirectory);
+		}
+
+		File[] files = processingDirectory.listFiles();
+		// A restart must yield the same partitions.
+		Arrays.sort(files);
+
+		long maxSize = Long.parseLong(partitionSize);
+		List<Properties> partitions = new ArrayList<>();
+
+		for (File file : files) {
+			long size = file.length();
+			long start = 0;
+
+			while (start < size) {
+				long end = start + maxSize < size ? nextLineStart(file, start + maxSize) : size;
+				partitions.add(partition(partitions.size(), file.getPath(), start, end));
+				start = end;
+			}
+		}
+
+		if (partitions.isEmpty()) {
+			logger.log(Level.INFO, "No files to process");
+			partitions.add(partition(0, "", 0, 0));
+		}
+
+		PartitionPlanImpl plan = new PartitionPlanImpl();
+		plan.setPartitions(partitions.size());
+		plan.setThreads(Math.min(partitions.size(), Runtime.getRuntime().availableProcessors()));
+		plan.setPartitionProperties(partitions.toArray(new Properties[0]));
+
+		return plan;
+	}
+
+	static File processingDirectory(JobContext jobContext) {
+		return new File(jobContext.getProperties().getProperty(PROCESSING_DIRECTORY),
+				jobContext.getJobName() + "_" + jobContext.getInstanceId());
+	}
+
+	private void claimUploadedFiles(File processingDirectory) throws IOException {
+		File uploadDirectory = new File(jobContext.getProperties().getProperty(UPLOAD_DIRECTORY));
+		logger.log(Level.INFO, "Scanning upload directory: {0}", uploadDirectory);
+
+		if (!uploadDirectory.exists()) {
+			logger.log(Level.INFO, "Upload directory does not exist, creating it");
+			uploadDirectory.mkdirs();
+		}
+
+		for (File file : uploadDirectory.listFiles(File::isFile)) {
+			claim(file, processingDirectory);
+		}
+	}
+
+	private void claimAbandonedFiles(File processingDirectory) throws IOException {
+		JobOperator jobOperator = BatchRuntime.getJobOperator();
+		Set<String> running = new HashSet<>();
+
+		for (long execution : jobOperator.getRunningExecutions(jobContext.getJobName())) {
+			running.add(jobContext.getJobName() + "_" + jobOperator.getJobInstance(execution).getInstanceId());
+		}
+
+		File[] directories = processingDirectory.getParentFile().listFiles(
+				directory -> directory.isDirectory() && directory.getName().startsWith(jobContext.getJobName() + "_")
+						&& !running.contains(directory.getName()));
+
+		for (File directory : directories) {
+			for (File file : directory.listFiles(File::isFile)) {
+				logger.log(Level.INFO, "Claiming file left by an instance that is no longer running: {0}", file);
+				claim(file, processingDirectory);
+			}
+
+			directory.delete();
+		}
+	}
+
+	/**
+	 * Moves a file into the processing directory, renaming it if a file of the
+	 * same name has been claimed already.
+	 */
+	private static void claim(File file, File processingDirectory) throws IOException {
+		File claimed = new File(processingDirectory, file.getName());
+
+		for (int copy = 1; claimed.exists(); copy++) {
+			claimed = new File(processingDirectory, copy + "_" + file.getName());
+		}
+
+		Files.move(file.toPath(), claimed.toPath(), StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * @return The offset of the first line starting at or after the given
+	 *         position, so that no line is split between partitions.
+	 */
+	private static long nextLineStart(File file, long position) throws IOException {
+		try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+			input.seek(position - 1);
+			byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = input.read(buffer)) > 0) {
+				for (int i = 0; i < read; i++) {
+					if (buffer[i] == '\n') {
+						return position + i;
+					}
+				}
+
+				position += read;
+			}
+
+			return input.length();
+		}
+	}
+
+	private static Properties partition(int index, String file, long start, long end) {
+		Properties properties = new Properties();
+		properties.setProperty(PARTITION, String.valueOf(index));
+		properties.setProperty(FILE, file);
+		properties.setProperty(START, String.valueOf(start));
+		properties.setProperty(END, String.valueOf(end));
+
+		return properties;
+	}
+}
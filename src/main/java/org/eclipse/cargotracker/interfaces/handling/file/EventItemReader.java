@@ -1,17 +1,23 @@
 package org.eclipse.cargotracker.interfaces.handling.file;
 
 import java.io.File;
-import java.io.RandomAccessFile;
 import java.io.Serializable;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jakarta.batch.api.BatchProperty;
 import jakarta.batch.api.chunk.AbstractItemReader;
-import jakarta.batch.runtime.context.JobContext;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -22,127 +28,220 @@ import org.eclipse.cargotracker.domain.model.location.UnLocode;
 import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
 import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
 
+/**
+ * Reads the lines of a partition's byte range straight from a memory mapped
+ * view of the file. Fields are located in place and only the values that are
+ * actually needed are decoded, so no line string, field array or date format
+ * is created per line. The checkpoint is the exact offset of the next line.
+ * <p>
+ * A line that does not even fit into a mapped window, 64 MB by default, is
+ * rejected and skipped like any other line that cannot be parsed.
+ * <p>
+ * Completion times are read as <code>yyyy-MM-dd HH:mm</code> but, like the
+ * lenient date format used before, also accept single digit fields and roll
+ * over out of range values.
+ */
 @Dependent
 @Named("EventItemReader")
 public class EventItemReader extends AbstractItemReader {
 
-	private static final String UPLOAD_DIRECTORY = "upload_directory";
-	private static final String ISO_8601_FORMAT = "yyyy-MM-dd HH:mm";
+	private static final DateTimeFormatter ISO_8601_FORMAT = DateTimeFormatter.ofPattern("y-M-d H:m")
+			.withResolverStyle(ResolverStyle.LENIENT);
+	private static final int FIELD_COUNT = 5;
+	// Mapped at once, comfortably larger than a partition.
+	private static final long WINDOW_SIZE = 64 * 1024 * 1024;
 
-    @Inject
-    private Logger logger;
+	@Inject
+	private Logger logger;
 
 	@Inject
-	private JobContext jobContext;
+	@BatchProperty(name = EventFilesPartitionMapper.FILE)
+	private String file;
+	@Inject
+	@BatchProperty(name = EventFilesPartitionMapper.START)
+	private String start;
+	@Inject
+	@BatchProperty(name = EventFilesPartitionMapper.END)
+	private String end;
+
 	private EventFilesCheckpoint checkpoint;
-	private RandomAccessFile currentFile;
+	private long endPointer;
+	private FileChannel channel;
+	private MappedByteBuffer window;
+	private long windowStart;
+
+	private final long windowSize;
+	private final int[] fieldStarts = new int[FIELD_COUNT];
+	private final int[] fieldEnds = new int[FIELD_COUNT];
+
+	public EventItemReader() {
+		this.windowSize = WINDOW_SIZE;
+	}
+
+	// For tests, a small window makes lines cross it.
+	EventItemReader(String file, long start, long end, long windowSize, Logger logger) {
+		this.file = file;
+		this.start = Long.toString(start);
+		this.end = Long.toString(end);
+		this.windowSize = windowSize;
+		this.logger = logger;
+	}
 
 	@Override
 	public void open(Serializable checkpoint) throws Exception {
-		File uploadDirectory = new File(jobContext.getProperties().getProperty(UPLOAD_DIRECTORY));
+		endPointer = Long.parseLong(end);
+
+		if (file.isEmpty()) {
+			return;
+		}
 
 		if (checkpoint == null) {
-			this.checkpoint = new EventFilesCheckpoint();
-			logger.log(Level.INFO, "Scanning upload directory: {0}", uploadDirectory);
-
-			if (!uploadDirectory.exists()) {
-				logger.log(Level.INFO, "Upload directory does not exist, creating it");
-				uploadDirectory.mkdirs();
-			} else {
-				this.checkpoint.setFiles(Arrays.asList(uploadDirectory.listFiles()));
-			}
+			this.checkpoint = new EventFilesCheckpoint(new File(file), Long.parseLong(start));
 		} else {
 			logger.log(Level.INFO, "Starting from previous checkpoint");
 			this.checkpoint = (EventFilesCheckpoint) checkpoint;
 		}
 
-		File file = this.checkpoint.currentFile();
-
-		if (file == null) {
-			logger.log(Level.INFO, "No files to process");
-			currentFile = null;
-		} else {
-			currentFile = new RandomAccessFile(file, "r");
-			logger.log(Level.INFO, "Processing file: {0}", file);
-			currentFile.seek(this.checkpoint.getFilePointer());
-		}
+		channel = FileChannel.open(this.checkpoint.getFile().toPath(), StandardOpenOption.READ);
+		logger.log(Level.INFO, "Processing file {0} from byte {1} to {2}",
+				new Object[] { file, this.checkpoint.getFilePointer(), endPointer });
 	}
 
 	@Override
 	public Object readItem() throws Exception {
-		if (currentFile != null) {
-			String line = currentFile.readLine();
-
-			if (line != null) {
-				this.checkpoint.setFilePointer(currentFile.getFilePointer());
-				return parseLine(line);
-			} else {
-				logger.log(Level.INFO, "Finished processing file, deleting: {0}", this.checkpoint.currentFile());
-				currentFile.close();
-				this.checkpoint.currentFile().delete();
-				File nextFile = this.checkpoint.nextFile();
-
-				if (nextFile == null) {
-					logger.log(Level.INFO, "No more files to process");
-					return null;
-				} else {
-					currentFile = new RandomAccessFile(nextFile, "r");
-					logger.log(Level.INFO, "Processing file: {0}", nextFile);
-					return readItem();
+		long lineStart = checkpoint == null ? endPointer : checkpoint.getFilePointer();
+
+		if (lineStart >= endPointer) {
+			return null;
+		}
+
+		if (window == null || lineStart < windowStart || lineStart >= windowStart + window.limit()) {
+			map(lineStart);
+		}
+
+		int from = (int) (lineStart - windowStart);
+		int limit = window.limit();
+		int fields = 0;
+		int position = from;
+		fieldStarts[0] = from;
+
+		while (position < limit && window.get(position) != '\n') {
+			if (window.get(position) == ',') {
+				if (fields + 1 < FIELD_COUNT) {
+					fieldEnds[fields] = position;
+					fieldStarts[fields + 1] = position + 1;
 				}
+
+				fields++;
 			}
-		} else {
-			return null;
+
+			position++;
+		}
+
+		if (position == limit && windowStart + limit < endPointer) {
+			if (from > 0) {
+				// The line runs past the window, map again from its start.
+				map(lineStart);
+				return readItem();
+			}
+
+			String head = decode(from, Math.min(limit, from + 80)) + "...";
+			checkpoint.setFilePointer(nextLineStart(windowStart + limit));
+
+			throw new EventLineParseException("Line longer than " + windowSize + " bytes", head);
+		}
+
+		int lineEnd = position > from && window.get(position - 1) == '\r' ? position - 1 : position;
+		checkpoint.setFilePointer(windowStart + Math.min(position + 1, limit));
+
+		if (fields != FIELD_COUNT - 1) {
+			throw new EventLineParseException("Wrong number of data elements", decode(from, lineEnd));
 		}
+
+		fieldEnds[FIELD_COUNT - 1] = lineEnd;
+
+		return parseLine(from, lineEnd);
 	}
 
-	private Object parseLine(String line) throws EventLineParseException {
-		String[] result = line.split(",");
+	@Override
+	public void close() throws Exception {
+		// Unmapped once collected, there is no way to release it earlier.
+		window = null;
 
-		if (result.length != 5) {
-			throw new EventLineParseException("Wrong number of data elements", line);
+		if (channel != null) {
+			channel.close();
+			channel = null;
 		}
+	}
+
+	/**
+	 * @return The offset of the first line starting after the given position, or
+	 *         the end of the range.
+	 */
+	private long nextLineStart(long position) throws Exception {
+		while (position < endPointer) {
+			map(position);
+
+			for (int i = 0; i < window.limit(); i++) {
+				if (window.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
 
+			position += window.limit();
+		}
+
+		return endPointer;
+	}
+
+	private void map(long position) throws Exception {
+		windowStart = position;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, endPointer - position));
+	}
+
+	private Object parseLine(int lineStart, int lineEnd) throws EventLineParseException {
 		Date completionTime = null;
 
 		try {
-			completionTime = new SimpleDateFormat(ISO_8601_FORMAT).parse(result[0]);
-		} catch (ParseException e) {
-			throw new EventLineParseException("Cannot parse completion time", e, line);
+			completionTime = Date.from(LocalDateTime
+					.parse(new AsciiSequence(window, fieldStarts[0], fieldEnds[0]), ISO_8601_FORMAT)
+					.atZone(ZoneId.systemDefault()).toInstant());
+		} catch (DateTimeParseException e) {
+			throw new EventLineParseException("Cannot parse completion time", e, decode(lineStart, lineEnd));
 		}
 
 		TrackingId trackingId = null;
 
 		try {
-			trackingId = new TrackingId(result[1]);
+			trackingId = new TrackingId(field(1));
 		} catch (NullPointerException e) {
-			throw new EventLineParseException("Cannot parse tracking ID", e, line);
+			throw new EventLineParseException("Cannot parse tracking ID", e, decode(lineStart, lineEnd));
 		}
 
 		VoyageNumber voyageNumber = null;
 
 		try {
-			if (!result[2].isEmpty()) {
-				voyageNumber = new VoyageNumber(result[2]);
+			if (fieldEnds[2] > fieldStarts[2]) {
+				voyageNumber = new VoyageNumber(field(2));
 			}
 		} catch (NullPointerException e) {
-			throw new EventLineParseException("Cannot parse voyage number", e, line);
+			throw new EventLineParseException("Cannot parse voyage number", e, decode(lineStart, lineEnd));
 		}
 
 		UnLocode unLocode = null;
 
 		try {
-			unLocode = new UnLocode(result[3]);
+			unLocode = new UnLocode(field(3));
 		} catch (IllegalArgumentException | NullPointerException e) {
-			throw new EventLineParseException("Cannot parse UN location code", e, line);
+			throw new EventLineParseException("Cannot parse UN location code", e, decode(lineStart, lineEnd));
 		}
 
 		HandlingEvent.Type eventType = null;
 
 		try {
-			eventType = HandlingEvent.Type.valueOf(result[4]);
+			eventType = HandlingEvent.Type.valueOf(field(4));
 		} catch (IllegalArgumentException | NullPointerException e) {
-			throw new EventLineParseException("Cannot parse event type", e, line);
+			throw new EventLineParseException("Cannot parse event type", e, decode(lineStart, lineEnd));
 		}
 
 		HandlingEventRegistrationAttempt attempt = new HandlingEventRegistrationAttempt(new Date(), completionTime,
@@ -151,9 +250,58 @@ public class EventItemReader extends AbstractItemReader {
 		return attempt;
 	}
 
+	private String field(int index) {
+		return decode(fieldStarts[index], fieldEnds[index]);
+	}
+
+	private String decode(int from, int to) {
+		byte[] bytes = new byte[to - from];
+		window.get(from, bytes);
+
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
 	@Override
 	public Serializable checkpointInfo() throws Exception {
 		return this.checkpoint;
 	}
 
+	/**
+	 * Single byte characters of a buffer region, without copying them.
+	 */
+	private static class AsciiSequence implements CharSequence {
+
+		private final ByteBuffer buffer;
+		private final int from;
+		private final int to;
+
+		AsciiSequence(ByteBuffer buffer, int from, int to) {
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public int length() {
+			return to - from;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (buffer.get(from + index) & 0xff);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new AsciiSequence(buffer, from + start, from + end);
+		}
+
+		@Override
+		public String toString() {
+			byte[] bytes = new byte[length()];
+			buffer.get(from, bytes);
+
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
 }
@@ -5,8 +5,10 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.batch.api.BatchProperty;
 import jakarta.batch.api.chunk.AbstractItemWriter;
 import jakarta.batch.runtime.context.JobContext;
 import jakarta.enterprise.context.Dependent;
@@ -28,6 +30,12 @@ public class EventItemWriter extends AbstractItemWriter {
 	@Inject
 	private ApplicationEvents applicationEvents;
 
+	@Inject
+	@BatchProperty(name = EventFilesPartitionMapper.PARTITION)
+	private String partition;
+
+	private PrintWriter archive;
+
 	@Override
 	public void open(Serializable checkpoint) throws Exception {
 		File archiveDirectory = new File(jobContext.getProperties().getProperty(ARCHIVE_DIRECTORY));
@@ -35,24 +43,37 @@ public class EventItemWriter extends AbstractItemWriter {
 		if (!archiveDirectory.exists()) {
 			archiveDirectory.mkdirs();
 		}
+
+		archive = new PrintWriter(new BufferedWriter(new FileWriter(new File(archiveDirectory,
+				"archive_" + jobContext.getJobName() + "_" + jobContext.getInstanceId() + "_" + partition + ".csv"),
+				true)));
 	}
 
 	@Override
 	@Transactional
 	public void writeItems(List<Object> items) throws Exception {
-		try (PrintWriter archive = new PrintWriter(
-				new BufferedWriter(
-						new FileWriter(
-								new File(jobContext.getProperties().getProperty(ARCHIVE_DIRECTORY) + "/archive_"
-										+ jobContext.getJobName() + "_" + jobContext.getInstanceId() + ".csv"),
-								true)))) {
-			for (Object item : items) {
-				HandlingEventRegistrationAttempt attempt = (HandlingEventRegistrationAttempt) item;
-				applicationEvents.receivedHandlingEventRegistrationAttempt(attempt);
-				archive.println(attempt.getRegistrationTime() + "," + attempt.getCompletionTime() + ","
-						+ attempt.getTrackingId() + "," + attempt.getVoyageNumber() + "," + attempt.getUnLocode() + ","
-						+ attempt.getType());
-			}
+		List<HandlingEventRegistrationAttempt> attempts = new ArrayList<>(items.size());
+
+		for (Object item : items) {
+			attempts.add((HandlingEventRegistrationAttempt) item);
+		}
+
+		// Sent together with the chunk transaction.
+		applicationEvents.receivedHandlingEventRegistrationAttempts(attempts);
+
+		for (HandlingEventRegistrationAttempt attempt : attempts) {
+			archive.println(attempt.getRegistrationTime() + "," + attempt.getCompletionTime() + ","
+					+ attempt.getTrackingId() + "," + attempt.getVoyageNumber() + "," + attempt.getUnLocode() + ","
+					+ attempt.getType());
+		}
+
+		archive.flush();
+	}
+
+	@Override
+	public void close() throws Exception {
+		if (archive != null) {
+			archive.close();
 		}
 	}
 }
@@ -7,6 +7,7 @@ import java.io.PrintWriter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jakarta.batch.api.BatchProperty;
 import jakarta.batch.api.chunk.listener.SkipReadListener;
 import jakarta.batch.runtime.context.JobContext;
 import jakarta.enterprise.context.Dependent;
@@ -25,6 +26,10 @@ public class LineParseExceptionListener implements SkipReadListener {
 	@Inject
 	private JobContext jobContext;
 
+	@Inject
+	@BatchProperty(name = EventFilesPartitionMapper.PARTITION)
+	private String partition;
+
 	@Override
 	public void onSkipReadItem(Exception e) throws Exception {
 		File failedDirectory = new File(jobContext.getProperties().getProperty(FAILED_DIRECTORY));
@@ -40,7 +45,8 @@ public class LineParseExceptionListener implements SkipReadListener {
 		try (PrintWriter failed = new PrintWriter(
 				new BufferedWriter(new FileWriter(
 						new File(failedDirectory,
-								"failed_" + jobContext.getJobName() + "_" + jobContext.getInstanceId() + ".csv"),
+								"failed_" + jobContext.getJobName() + "_" + jobContext.getInstanceId() + "_" + partition
+										+ ".csv"),
 						true)))) {
 			failed.println(parseException.getLine());
 		}
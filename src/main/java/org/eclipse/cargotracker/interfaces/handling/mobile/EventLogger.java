@@ -16,10 +16,8 @@ import jakarta.transaction.Transactional;
 
 import jakarta.annotation.PostConstruct;
 import org.eclipse.cargotracker.application.ApplicationEvents;
-import org.eclipse.cargotracker.domain.model.cargo.Cargo;
 import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
-import org.eclipse.cargotracker.domain.model.cargo.TransportStatus;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.domain.model.location.Location;
 import org.eclipse.cargotracker.domain.model.location.LocationRepository;
@@ -35,6 +33,7 @@ import org.primefaces.event.FlowEvent;
 public class EventLogger implements Serializable {
 
 	private static final long serialVersionUID = 1L;
+	private static final int MAX_SUGGESTIONS = 10;
 
 	@Inject
 	private CargoRepository cargoRepository;
@@ -48,7 +47,6 @@ public class EventLogger implements Serializable {
 	@Inject
 	private ApplicationEvents applicationEvents;
 
-	private List<SelectItem> trackingIds;
 	private List<SelectItem> locations;
 	private List<SelectItem> voyages;
 
@@ -66,8 +64,12 @@ public class EventLogger implements Serializable {
 		return trackingId;
 	}
 
-	public List<SelectItem> getTrackingIds() {
-		return trackingIds;
+	/**
+	 * Suggests the tracking IDs of cargo that can still be handled.
+	 */
+	public List<String> completeTrackingId(String query) {
+		return cargoRepository.findRoutedUnclaimedTrackingIdsStartingWith(query.trim().toUpperCase(),
+				MAX_SUGGESTIONS);
 	}
 
 	public void setLocation(String location) {
@@ -113,18 +115,6 @@ public class EventLogger implements Serializable {
 	@PostConstruct
 	@Transactional
 	public void init() {
-		List<Cargo> cargos = cargoRepository.findAll();
-
-		trackingIds = new ArrayList<>(cargos.size());
-		for (Cargo cargo : cargos) {
-			// List only routed cargo that is not claimed yet.
-			if (!cargo.getItinerary().getLegs().isEmpty()
-					&& !(cargo.getDelivery().getTransportStatus().sameValueAs(TransportStatus.CLAIMED))) {
-				String trackingId = cargo.getTrackingId().getIdString();
-				trackingIds.add(new SelectItem(trackingId, trackingId));
-			}
-		}
-
 		List<Location> locations = locationRepository.findAll();
 
 		this.locations = new ArrayList<>(locations.size());
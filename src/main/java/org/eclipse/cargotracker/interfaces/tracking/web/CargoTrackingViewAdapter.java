@@ -20,9 +20,11 @@ public class CargoTrackingViewAdapter {
 
 	private final Cargo cargo;
 	private final List<HandlingEventViewAdapter> events;
+	private final boolean olderEventsOmitted;
 
-	public CargoTrackingViewAdapter(Cargo cargo, List<HandlingEvent> handlingEvents) {
+	public CargoTrackingViewAdapter(Cargo cargo, List<HandlingEvent> handlingEvents, boolean olderEventsOmitted) {
 		this.cargo = cargo;
+		this.olderEventsOmitted = olderEventsOmitted;
 		this.events = new ArrayList<>(handlingEvents.size());
 
 		for (HandlingEvent handlingEvent : handlingEvents) {
@@ -139,6 +141,13 @@ public class CargoTrackingViewAdapter {
 		return Collections.unmodifiableList(events);
 	}
 
+	/**
+	 * @return Whether only the most recent handling events are shown.
+	 */
+	public boolean isOlderEventsOmitted() {
+		return olderEventsOmitted;
+	}
+
 	/**
 	 * Handling event view adapter component.
 	 */
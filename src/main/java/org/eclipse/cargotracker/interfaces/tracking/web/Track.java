@@ -14,6 +14,7 @@ import org.eclipse.cargotracker.domain.model.cargo.CargoRepository;
 import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
 import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
+import org.eclipse.cargotracker.domain.model.handling.HandlingHistory;
 
 /**
  * Backing bean for tracking cargo. This interface sits immediately on top of
@@ -33,6 +34,7 @@ import org.eclipse.cargotracker.domain.model.handling.HandlingEventRepository;
 public class Track implements Serializable {
 
 	private static final long serialVersionUID = 1L;
+	private static final int MAX_HANDLING_EVENTS = 50;
 
 	@Inject
 	private CargoRepository cargoRepository;
@@ -66,9 +68,12 @@ public class Track implements Serializable {
 		Cargo cargo = cargoRepository.find(new TrackingId(trackingId));
 
 		if (cargo != null) {
+			// One more than shown, to tell whether older events are left out.
 			List<HandlingEvent> handlingEvents = handlingEventRepository
-					.lookupHandlingHistoryOfCargo(new TrackingId(trackingId)).getDistinctEventsByCompletionTime();
-			this.cargo = new CargoTrackingViewAdapter(cargo, handlingEvents);
+					.lookupMostRecentlyCompletedEvents(new TrackingId(trackingId), MAX_HANDLING_EVENTS + 1);
+			this.cargo = new CargoTrackingViewAdapter(cargo,
+					new HandlingHistory(handlingEvents).getMostRecentDistinctEvents(MAX_HANDLING_EVENTS),
+					handlingEvents.size() > MAX_HANDLING_EVENTS);
 		} else {
 			FacesContext context = FacesContext.getCurrentInstance();
 			FacesMessage message = new FacesMessage("Cargo with tracking ID: " + trackingId + " not found.");
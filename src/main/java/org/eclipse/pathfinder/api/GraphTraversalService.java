@@ -1,15 +1,14 @@
 package org.eclipse.pathfinder.api;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Random;
 
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
@@ -21,13 +20,19 @@ import org.eclipse.pathfinder.internal.GraphDao;
 @Path("/graph-traversal")
 public class GraphTraversalService {
 
-	private static final long ONE_MIN_MS = 1000 * 60;
-	private static final long ONE_DAY_MS = ONE_MIN_MS * 60 * 24;
+	private static final int MAX_CANDIDATES = 5;
 
 	@Inject
 	private GraphDao dao;
-	private final Random random = new Random();
 
+	/**
+	 * @param originUnLocode      UN/LOCODE of the origin
+	 * @param destinationUnLocode UN/LOCODE of the destination
+	 * @param deadline            optional ISO-8601 instant the cargo must arrive
+	 *                            by, e.g. <code>2014-03-15T00:00:00Z</code>
+	 * @return The earliest arriving paths departing from now on, at most
+	 *         {@value #MAX_CANDIDATES}.
+	 */
 	@GET
 	@Path("/shortest-path")
 	@Produces({ "application/json", "application/xml; qs=.75" })
@@ -35,60 +40,19 @@ public class GraphTraversalService {
 			@NotNull @Size(min = 5, max = 5) @QueryParam("origin") String originUnLocode,
 			@NotNull @Size(min = 5, max = 5) @QueryParam("destination") String destinationUnLocode,
 			@QueryParam("deadline") String deadline) {
-		Date date = nextDate(new Date());
-
-		List<String> allVertices = dao.listLocations();
-		allVertices.remove(originUnLocode);
-		allVertices.remove(destinationUnLocode);
-
-		int candidateCount = getRandomNumberOfCandidates();
-		List<TransitPath> candidates = new ArrayList<>(candidateCount);
-
-		for (int i = 0; i < candidateCount; i++) {
-			allVertices = getRandomChunkOfLocations(allVertices);
-			List<TransitEdge> transitEdges = new ArrayList<>(allVertices.size() - 1);
-			String firstLegTo = allVertices.get(0);
-
-			Date fromDate = nextDate(date);
-			Date toDate = nextDate(fromDate);
-			date = nextDate(toDate);
-
-			transitEdges.add(new TransitEdge(dao.getVoyageNumber(originUnLocode, firstLegTo), originUnLocode,
-					firstLegTo, fromDate, toDate));
-
-			for (int j = 0; j < allVertices.size() - 1; j++) {
-				String current = allVertices.get(j);
-				String next = allVertices.get(j + 1);
-				fromDate = nextDate(date);
-				toDate = nextDate(fromDate);
-				date = nextDate(toDate);
-				transitEdges.add(new TransitEdge(dao.getVoyageNumber(current, next), current, next, fromDate, toDate));
-			}
-
-			String lastLegFrom = allVertices.get(allVertices.size() - 1);
-			fromDate = nextDate(date);
-			toDate = nextDate(fromDate);
-			transitEdges.add(new TransitEdge(dao.getVoyageNumber(lastLegFrom, destinationUnLocode), lastLegFrom,
-					destinationUnLocode, fromDate, toDate));
-
-			candidates.add(new TransitPath(transitEdges));
-		}
-
-		return candidates;
-	}
-
-	private Date nextDate(Date date) {
-		return new Date(date.getTime() + ONE_DAY_MS + (random.nextInt(1000) - 500) * ONE_MIN_MS);
+		return dao.getTimetableGraph().findEarliestArrivalPaths(originUnLocode, destinationUnLocode,
+				System.currentTimeMillis(), parseDeadline(deadline), MAX_CANDIDATES);
 	}
 
-	private int getRandomNumberOfCandidates() {
-		return 3 + random.nextInt(3);
-	}
+	private long parseDeadline(String deadline) {
+		if (deadline == null || deadline.isEmpty()) {
+			return Long.MAX_VALUE;
+		}
 
-	private List<String> getRandomChunkOfLocations(List<String> allLocations) {
-		Collections.shuffle(allLocations);
-		int total = allLocations.size();
-		int chunk = total > 4 ? 1 + new Random().nextInt(5) : total;
-		return allLocations.subList(0, chunk);
+		try {
+			return Instant.parse(deadline).toEpochMilli();
+		} catch (DateTimeParseException e) {
+			throw new BadRequestException("Deadline is not an ISO-8601 instant: " + deadline, e);
+		}
 	}
 }
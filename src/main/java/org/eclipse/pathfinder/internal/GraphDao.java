@@ -1,39 +1,90 @@
 package org.eclipse.pathfinder.internal;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
 
+import org.eclipse.cargotracker.domain.model.voyage.CarrierMovement;
+import org.eclipse.cargotracker.domain.model.voyage.Voyage;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageRepository;
+import org.eclipse.cargotracker.infrastructure.events.cdi.VoyageScheduleChanged;
+
+/**
+ * Provides the timetable graph. The graph is built once from the published
+ * voyage schedules and then kept in memory, so that path queries do not touch
+ * the database.
+ * <p>
+ * Schedule changes are patched into a copy of the graph which then replaces the
+ * current one. Readers never lock, they simply keep using the snapshot they
+ * started with; only concurrent writers are serialized.
+ */
 @ApplicationScoped
 public class GraphDao implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
-	private final Random random = new Random();
+	@Inject
+	private VoyageRepository voyageRepository;
+
+	private transient volatile TimetableGraph graph;
+
+	public TimetableGraph getTimetableGraph() {
+		TimetableGraph current = graph;
+
+		if (current == null) {
+			synchronized (this) {
+				current = graph;
 
-	public List<String> listLocations() {
-		return new ArrayList<>(Arrays.asList("CNHKG", "AUMEL", "SESTO", "FIHEL", "USCHI", "JNTKO", "DEHAM", "CNSHA",
-				"NLRTM", "SEGOT", "CNHGH", "USNYC", "USDAL"));
+				if (current == null) {
+					current = buildGraph(voyageRepository.findAll());
+					graph = current;
+				}
+			}
+		}
+
+		return current;
 	}
 
-	public String getVoyageNumber(String from, String to) {
-		int i = random.nextInt(5);
-
-		switch (i) {
-		case 0:
-			return "0100S";
-		case 1:
-			return "0200T";
-		case 2:
-			return "0300A";
-		case 3:
-			return "0301S";
-		default:
-			return "0400S";
+	/**
+	 * Runs before the other observers of schedule changes, which may rely on the
+	 * new graph being in place.
+	 */
+	public void onVoyageScheduleChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) @Priority(
+			Interceptor.Priority.APPLICATION) @VoyageScheduleChanged Voyage voyage) {
+		synchronized (this) {
+			// Not built yet, the first read will pick up the change.
+			if (graph != null) {
+				TimetableGraph.Builder builder = graph.edit()
+						.removeVoyage(voyage.getVoyageNumber().getIdString());
+				addMovements(builder, voyage);
+				graph = builder.build();
+			}
+		}
+	}
+
+	private static TimetableGraph buildGraph(List<Voyage> voyages) {
+		TimetableGraph.Builder builder = new TimetableGraph.Builder();
+
+		for (Voyage voyage : voyages) {
+			addMovements(builder, voyage);
+		}
+
+		return builder.build();
+	}
+
+	private static void addMovements(TimetableGraph.Builder builder, Voyage voyage) {
+		String voyageNumber = voyage.getVoyageNumber().getIdString();
+
+		for (CarrierMovement movement : voyage.getSchedule().getCarrierMovements()) {
+			builder.addMovement(voyageNumber, movement.getDepartureLocation().getUnLocode().getIdString(),
+					movement.getArrivalLocation().getUnLocode().getIdString(), movement.getDepartureTime(),
+					movement.getArrivalTime());
 		}
 	}
 }
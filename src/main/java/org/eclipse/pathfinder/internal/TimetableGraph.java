@@ -0,0 +1,581 @@
+package org.eclipse.pathfinder.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pathfinder.api.TransitEdge;
+import org.eclipse.pathfinder.api.TransitPath;
+
+/**
+ * In-memory, immutable view of the voyage timetable used for path finding.
+ * <p>
+ * Every carrier movement of every voyage is a time-dependent edge between two
+ * locations. Locations and voyage numbers are interned to dense int ids and the
+ * outgoing edges of each location are kept in a {@link Row} of parallel
+ * primitive arrays, sorted by departure time. The first usable departure after
+ * an arrival is found with a binary search, and a search runs on primitive
+ * arrays only, without boxing or allocating per edge.
+ * <p>
+ * A graph is never modified. Schedule changes are applied through
+ * {@link #edit()}, which produces a patched copy. Rows are immutable too, so the
+ * copy shares every row the change does not touch with this graph; only the
+ * rows of the locations the changed voyages depart from are rebuilt.
+ */
+public class TimetableGraph {
+
+	private static final int[] NO_LOCATIONS = new int[0];
+
+	private final String[] locations;
+	private final Map<String, Integer> locationIds;
+	private final String[] voyageNumbers;
+	private final Map<String, Integer> voyageIds;
+
+	// Outgoing edges by location id.
+	private final Row[] rows;
+	// Locations with outgoing edges by voyage id, to find the rows of a voyage.
+	private final int[][] voyageLocations;
+
+	private TimetableGraph(String[] locations, Map<String, Integer> locationIds, String[] voyageNumbers,
+			Map<String, Integer> voyageIds, Row[] rows, int[][] voyageLocations) {
+		this.locations = locations;
+		this.locationIds = locationIds;
+		this.voyageNumbers = voyageNumbers;
+		this.voyageIds = voyageIds;
+		this.rows = rows;
+		this.voyageLocations = voyageLocations;
+	}
+
+	/**
+	 * Finds up to <code>maxPaths</code> paths from origin to destination, ordered
+	 * by arrival time. The search is a time-dependent Dijkstra where every
+	 * location may be settled up to <code>maxPaths</code> times, which yields the
+	 * k earliest arrivals rather than just the earliest one. Paths never visit a
+	 * location twice.
+	 *
+	 * @param origin       UN/LOCODE of the origin
+	 * @param destination  UN/LOCODE of the destination
+	 * @param departAfter  earliest allowed departure, epoch millis
+	 * @param arriveBefore latest allowed arrival, epoch millis
+	 * @param maxPaths     maximum number of paths to return
+	 * @return Paths ordered by arrival time, possibly empty.
+	 */
+	public List<TransitPath> findEarliestArrivalPaths(String origin, String destination, long departAfter,
+			long arriveBefore, int maxPaths) {
+		Integer originId = locationIds.get(origin);
+		Integer destinationId = locationIds.get(destination);
+
+		if (originId == null || destinationId == null || originId.equals(destinationId)) {
+			return Collections.emptyList();
+		}
+
+		return new Search(maxPaths).run(originId, destinationId, departAfter, arriveBefore);
+	}
+
+	/**
+	 * @return A builder for a patched copy of this graph. Only the rows of
+	 *         locations touched by removed or added movements are rebuilt, all
+	 *         other rows are shared with this graph.
+	 */
+	public Builder edit() {
+		return new Builder(this);
+	}
+
+	/**
+	 * The outgoing edges of one location, sorted by departure and arrival time.
+	 * Never modified once built.
+	 */
+	private static final class Row {
+
+		static final Row EMPTY = new Row(new long[0], new long[0], new int[0], new int[0]);
+
+		final long[] departure;
+		final long[] arrival;
+		final int[] target;
+		final int[] voyage;
+
+		Row(long[] departure, long[] arrival, int[] target, int[] voyage) {
+			this.departure = departure;
+			this.arrival = arrival;
+			this.target = target;
+			this.voyage = voyage;
+		}
+
+		int size() {
+			return departure.length;
+		}
+
+		int firstDepartureAtOrAfter(long time) {
+			int low = 0;
+			int high = departure.length;
+
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+
+				if (departure[middle] < time) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+
+			return low;
+		}
+	}
+
+	/**
+	 * State of a single path search. Labels, the priority queue and the per
+	 * location counters are parallel primitive arrays.
+	 */
+	private final class Search {
+
+		private final int maxPaths;
+
+		private int[] labelLocation = new int[64];
+		private long[] labelArrival = new long[64];
+		private int[] labelPrevious = new int[64];
+		private int[] labelEdge = new int[64];
+		private int[] labelHops = new int[64];
+		private int labelCount;
+
+		private int[] heap = new int[64];
+		private int heapSize;
+
+		private final int[] settled = new int[locations.length];
+		private final int[] pushed = new int[locations.length];
+		private final int[] touched = new int[locations.length];
+
+		Search(int maxPaths) {
+			this.maxPaths = maxPaths;
+		}
+
+		List<TransitPath> run(int origin, int destination, long departAfter, long arriveBefore) {
+			List<TransitPath> paths = new ArrayList<>(maxPaths);
+			push(addLabel(origin, departAfter, -1, -1));
+
+			while (heapSize > 0 && paths.size() < maxPaths) {
+				int label = poll();
+				int location = labelLocation[label];
+
+				if (location == destination) {
+					paths.add(toTransitPath(label));
+					continue;
+				}
+
+				if (settled[location] >= maxPaths) {
+					continue;
+				}
+
+				settled[location]++;
+
+				int touchedCount = 0;
+				Row row = rows[location];
+				int end = row.size();
+
+				for (int edge = row.firstDepartureAtOrAfter(labelArrival[label]); edge < end; edge++) {
+					if (row.departure[edge] > arriveBefore) {
+						break;
+					}
+
+					int next = row.target[edge];
+
+					if (row.arrival[edge] > arriveBefore || visited(label, next)) {
+						continue;
+					}
+
+					// Later departures towards the same location can only produce
+					// later arrivals, so there is no point in keeping more of them
+					// than the number of paths asked for.
+					if (pushed[next] < maxPaths) {
+						if (pushed[next]++ == 0) {
+							touched[touchedCount++] = next;
+						}
+
+						push(addLabel(next, row.arrival[edge], label, edge));
+					}
+				}
+
+				for (int i = 0; i < touchedCount; i++) {
+					pushed[touched[i]] = 0;
+				}
+			}
+
+			return paths;
+		}
+
+		private boolean visited(int label, int location) {
+			for (int current = label; current != -1; current = labelPrevious[current]) {
+				if (labelLocation[current] == location) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Consecutive movements on the same voyage are folded into a single edge,
+		 * since the cargo is neither loaded nor unloaded in between.
+		 */
+		private TransitPath toTransitPath(int last) {
+			int[] hops = new int[labelHops[last]];
+
+			for (int label = last, i = hops.length - 1; i >= 0; label = labelPrevious[label], i--) {
+				hops[i] = label;
+			}
+
+			List<TransitEdge> transitEdges = new ArrayList<>(hops.length);
+			int first = hops[0];
+
+			for (int i = 1; i < hops.length; i++) {
+				if (voyageOf(hops[i]) != voyageOf(hops[i - 1])) {
+					transitEdges.add(toTransitEdge(first, hops[i - 1]));
+					first = hops[i];
+				}
+			}
+
+			transitEdges.add(toTransitEdge(first, hops[hops.length - 1]));
+
+			return new TransitPath(transitEdges);
+		}
+
+		/**
+		 * The edge of a label is an index into the row of the location the
+		 * previous label reached.
+		 */
+		private int voyageOf(int label) {
+			return rows[labelLocation[labelPrevious[label]]].voyage[labelEdge[label]];
+		}
+
+		private TransitEdge toTransitEdge(int first, int last) {
+			int source = labelLocation[labelPrevious[first]];
+			Row row = rows[source];
+
+			return new TransitEdge(voyageNumbers[row.voyage[labelEdge[first]]], locations[source],
+					locations[labelLocation[last]], new Date(row.departure[labelEdge[first]]),
+					new Date(labelArrival[last]));
+		}
+
+		private int addLabel(int location, long time, int previous, int edge) {
+			if (labelCount == labelLocation.length) {
+				int capacity = labelCount * 2;
+				labelLocation = Arrays.copyOf(labelLocation, capacity);
+				labelArrival = Arrays.copyOf(labelArrival, capacity);
+				labelPrevious = Arrays.copyOf(labelPrevious, capacity);
+				labelEdge = Arrays.copyOf(labelEdge, capacity);
+				labelHops = Arrays.copyOf(labelHops, capacity);
+			}
+
+			labelLocation[labelCount] = location;
+			labelArrival[labelCount] = time;
+			labelPrevious[labelCount] = previous;
+			labelEdge[labelCount] = edge;
+			labelHops[labelCount] = previous == -1 ? 0 : labelHops[previous] + 1;
+
+			return labelCount++;
+		}
+
+		private boolean before(int label, int other) {
+			if (labelArrival[label] != labelArrival[other]) {
+				return labelArrival[label] < labelArrival[other];
+			}
+
+			return labelHops[label] < labelHops[other];
+		}
+
+		private void push(int label) {
+			if (heapSize == heap.length) {
+				heap = Arrays.copyOf(heap, heapSize * 2);
+			}
+
+			int i = heapSize++;
+
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+
+				if (!before(label, heap[parent])) {
+					break;
+				}
+
+				heap[i] = heap[parent];
+				i = parent;
+			}
+
+			heap[i] = label;
+		}
+
+		private int poll() {
+			int result = heap[0];
+			int last = heap[--heapSize];
+			int i = 0;
+
+			while (true) {
+				int child = 2 * i + 1;
+
+				if (child >= heapSize) {
+					break;
+				}
+
+				if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+					child++;
+				}
+
+				if (!before(heap[child], last)) {
+					break;
+				}
+
+				heap[i] = heap[child];
+				i = child;
+			}
+
+			heap[i] = last;
+
+			return result;
+		}
+	}
+
+	/**
+	 * Incrementally collects carrier movements and builds an immutable graph,
+	 * either from scratch or as a patched copy of an existing graph.
+	 */
+	public static class Builder {
+
+		private final Row[] baseRows;
+		private final int[][] baseVoyageLocations;
+		private final BitSet removedVoyages = new BitSet();
+
+		private final List<String> locations;
+		private final Map<String, Integer> locationIds;
+		private final List<String> voyageNumbers;
+		private final Map<String, Integer> voyageIds;
+
+		private int size;
+		private int[] source = new int[64];
+		private int[] target = new int[64];
+		private int[] voyage = new int[64];
+		private long[] departure = new long[64];
+		private long[] arrival = new long[64];
+
+		public Builder() {
+			this.baseRows = new Row[0];
+			this.baseVoyageLocations = new int[0][];
+			this.locations = new ArrayList<>();
+			this.locationIds = new HashMap<>();
+			this.voyageNumbers = new ArrayList<>();
+			this.voyageIds = new HashMap<>();
+		}
+
+		private Builder(TimetableGraph base) {
+			// Ids are shared with the base graph so that its rows can be reused.
+			this.baseRows = base.rows;
+			this.baseVoyageLocations = base.voyageLocations;
+			this.locations = new ArrayList<>(Arrays.asList(base.locations));
+			this.locationIds = new HashMap<>(base.locationIds);
+			this.voyageNumbers = new ArrayList<>(Arrays.asList(base.voyageNumbers));
+			this.voyageIds = new HashMap<>(base.voyageIds);
+		}
+
+		/**
+		 * Drops all movements of a voyage from the base graph. Movements added to
+		 * this builder are kept, so a changed schedule is applied by removing the
+		 * voyage and adding its new movements.
+		 */
+		public Builder removeVoyage(String voyageNumber) {
+			Integer id = voyageIds.get(voyageNumber);
+
+			if (id != null) {
+				removedVoyages.set(id);
+			}
+
+			return this;
+		}
+
+		public Builder addMovement(String voyageNumber, String from, String to, Date departureTime,
+				Date arrivalTime) {
+			if (size == source.length) {
+				int capacity = size * 2;
+				source = Arrays.copyOf(source, capacity);
+				target = Arrays.copyOf(target, capacity);
+				voyage = Arrays.copyOf(voyage, capacity);
+				departure = Arrays.copyOf(departure, capacity);
+				arrival = Arrays.copyOf(arrival, capacity);
+			}
+
+			source[size] = intern(from, locations, locationIds);
+			target[size] = intern(to, locations, locationIds);
+			voyage[size] = intern(voyageNumber, voyageNumbers, voyageIds);
+			departure[size] = departureTime.getTime();
+			arrival[size] = arrivalTime.getTime();
+			size++;
+
+			return this;
+		}
+
+		private static int intern(String value, List<String> values, Map<String, Integer> ids) {
+			Integer id = ids.get(value);
+
+			if (id == null) {
+				id = values.size();
+				values.add(value);
+				ids.put(value, id);
+			}
+
+			return id;
+		}
+
+		/**
+		 * Rebuilds the rows of the locations that removed voyages depart from or
+		 * added movements depart from. All other rows are taken over from the base
+		 * graph as they are, so the cost of a patch depends on the size of the
+		 * change rather than on the size of the timetable.
+		 */
+		public TimetableGraph build() {
+			int[] order = new int[size];
+
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+
+			sort(order, new int[size], 0, size);
+
+			Row[] rows = Arrays.copyOf(baseRows, locations.size());
+			Arrays.fill(rows, baseRows.length, rows.length, Row.EMPTY);
+			int[][] voyageLocations = Arrays.copyOf(baseVoyageLocations, voyageNumbers.size());
+			Arrays.fill(voyageLocations, baseVoyageLocations.length, voyageLocations.length, NO_LOCATIONS);
+			BitSet touched = new BitSet(rows.length);
+
+			for (int id = removedVoyages.nextSetBit(0); id >= 0; id = removedVoyages.nextSetBit(id + 1)) {
+				for (int location : baseVoyageLocations[id]) {
+					touched.set(location);
+				}
+
+				voyageLocations[id] = NO_LOCATIONS;
+			}
+
+			for (int i = 0; i < size; i++) {
+				touched.set(source[i]);
+			}
+
+			// Added movements are sorted by source, just like the touched rows.
+			int added = 0;
+
+			for (int location = touched.nextSetBit(0); location >= 0; location = touched.nextSetBit(location + 1)) {
+				int addedEnd = added;
+
+				while (addedEnd < size && source[order[addedEnd]] == location) {
+					addedEnd++;
+				}
+
+				rows[location] = merge(rows[location], order, added, addedEnd);
+				added = addedEnd;
+			}
+
+			for (int i = 0; i < size; i++) {
+				int edge = order[i];
+				voyageLocations[voyage[edge]] = with(voyageLocations[voyage[edge]], source[edge]);
+			}
+
+			return new TimetableGraph(locations.toArray(new String[0]), new HashMap<>(locationIds),
+					voyageNumbers.toArray(new String[0]), new HashMap<>(voyageIds), rows, voyageLocations);
+		}
+
+		/**
+		 * Merges the sorted added movements from <code>from</code> up to
+		 * <code>to</code> into a base row, skipping the movements of removed
+		 * voyages.
+		 */
+		private Row merge(Row base, int[] order, int from, int to) {
+			int capacity = base.size() + to - from;
+			long[] newDeparture = new long[capacity];
+			long[] newArrival = new long[capacity];
+			int[] newTarget = new int[capacity];
+			int[] newVoyage = new int[capacity];
+			int out = 0;
+			int old = 0;
+			int added = from;
+
+			while (old < base.size() || added < to) {
+				if (old < base.size() && removedVoyages.get(base.voyage[old])) {
+					old++;
+				} else if (added == to || (old < base.size() && (base.departure[old] < departure[order[added]]
+						|| (base.departure[old] == departure[order[added]]
+								&& base.arrival[old] <= arrival[order[added]])))) {
+					newDeparture[out] = base.departure[old];
+					newArrival[out] = base.arrival[old];
+					newTarget[out] = base.target[old];
+					newVoyage[out] = base.voyage[old];
+					out++;
+					old++;
+				} else {
+					int edge = order[added];
+					newDeparture[out] = departure[edge];
+					newArrival[out] = arrival[edge];
+					newTarget[out] = target[edge];
+					newVoyage[out] = voyage[edge];
+					out++;
+					added++;
+				}
+			}
+
+			if (out == 0) {
+				return Row.EMPTY;
+			}
+
+			return new Row(Arrays.copyOf(newDeparture, out), Arrays.copyOf(newArrival, out),
+					Arrays.copyOf(newTarget, out), Arrays.copyOf(newVoyage, out));
+		}
+
+		private static int[] with(int[] locations, int location) {
+			for (int existing : locations) {
+				if (existing == location) {
+					return locations;
+				}
+			}
+
+			int[] result = Arrays.copyOf(locations, locations.length + 1);
+			result[locations.length] = location;
+
+			return result;
+		}
+
+		/**
+		 * Merge sort of edge indexes by source location, departure and arrival.
+		 */
+		private void sort(int[] order, int[] buffer, int from, int to) {
+			if (to - from < 2) {
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			sort(order, buffer, from, middle);
+			sort(order, buffer, middle, to);
+
+			System.arraycopy(order, from, buffer, from, to - from);
+
+			for (int i = from, left = from, right = middle; i < to; i++) {
+				if (right >= to || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+					order[i] = buffer[left++];
+				} else {
+					order[i] = buffer[right++];
+				}
+			}
+		}
+
+		private int compare(int edge, int other) {
+			if (source[edge] != source[other]) {
+				return Integer.compare(source[edge], source[other]);
+			}
+
+			if (departure[edge] != departure[other]) {
+				return Long.compare(departure[edge], departure[other]);
+			}
+
+			return Long.compare(arrival[edge], arrival[other]);
+		}
+	}
+}
@@ -145,6 +145,23 @@ public class CargoTest {
 		assertTrue(cargo.getDelivery().isUnloadedAtDestination());
 	}
 
+	@Test
+	public void testDeriveDeliveryProgressFromSingleEvent() throws Exception {
+		Cargo cargo = populateCargoReceivedStockholm();
+
+		HandlingEvent load = new HandlingEvent(cargo, getDate("2007-12-02"), new Date(), HandlingEvent.Type.LOAD,
+				SampleLocations.STOCKHOLM, voyage);
+		assertTrue(cargo.deriveDeliveryProgress(load));
+		assertEquals(TransportStatus.ONBOARD_CARRIER, cargo.getDelivery().getTransportStatus());
+		assertEquals(voyage, cargo.getDelivery().getCurrentVoyage());
+
+		// Completed before the last event, needs a full replay.
+		HandlingEvent customs = new HandlingEvent(cargo, getDate("2007-11-30"), new Date(),
+				HandlingEvent.Type.CUSTOMS, SampleLocations.STOCKHOLM);
+		assertFalse(cargo.deriveDeliveryProgress(customs));
+		assertEquals(TransportStatus.ONBOARD_CARRIER, cargo.getDelivery().getTransportStatus());
+	}
+
 	// TODO [TDD] Generate test data some better way
 	private Cargo populateCargoReceivedStockholm() throws Exception {
 		Cargo cargo = new Cargo(new TrackingId("XYZ"),
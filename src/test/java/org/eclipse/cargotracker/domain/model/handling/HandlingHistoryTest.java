@@ -39,6 +39,12 @@ public class HandlingHistoryTest {
 		assertEquals(Arrays.asList(event1, event2), handlingHistory.getDistinctEventsByCompletionTime());
 	}
 
+	@Test
+	public void testMostRecentDistinctEvents() {
+		assertEquals(Arrays.asList(event2), handlingHistory.getMostRecentDistinctEvents(1));
+		assertEquals(Arrays.asList(event1, event2), handlingHistory.getMostRecentDistinctEvents(3));
+	}
+
 	@Test
 	public void testMostRecentlyCompletedEvent() {
 		assertEquals(event2, handlingHistory.getMostRecentlyCompletedEvent());
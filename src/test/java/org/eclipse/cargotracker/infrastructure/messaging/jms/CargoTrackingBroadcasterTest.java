@@ -0,0 +1,53 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class CargoTrackingBroadcasterTest {
+
+	private final CargoTrackingBroadcaster broadcaster = new CargoTrackingBroadcaster();
+
+	@Test
+	public void testRedeliveriesSkipped() {
+		assertTrue(broadcaster.accept("node-a", 1));
+		assertFalse(broadcaster.accept("node-a", 1));
+		assertTrue(broadcaster.accept("node-a", 3));
+		assertFalse(broadcaster.accept("node-a", 3));
+
+		// Sequences are per node.
+		assertTrue(broadcaster.accept("node-b", 1));
+	}
+
+	@Test
+	public void testOutOfOrderDeliveryAccepted() {
+		// Concurrent consumers hand over 5 before 4.
+		assertTrue(broadcaster.accept("node-a", 5));
+		assertTrue(broadcaster.accept("node-a", 4));
+		assertTrue(broadcaster.accept("node-a", 2));
+		assertFalse(broadcaster.accept("node-a", 4));
+		assertFalse(broadcaster.accept("node-a", 5));
+		assertTrue(broadcaster.accept("node-a", 3));
+		assertTrue(broadcaster.accept("node-a", 1));
+
+		// Slots are reused once the window moves on.
+		long next = 5 + CargoTrackingBroadcaster.WINDOW;
+		assertTrue(broadcaster.accept("node-a", next));
+		assertTrue(broadcaster.accept("node-a", next - 1));
+		assertFalse(broadcaster.accept("node-a", 5));
+		assertTrue(broadcaster.accept("node-a", next - CargoTrackingBroadcaster.WINDOW + 1));
+	}
+
+	@Test
+	public void testIdleNodesForgotten() {
+		long timeout = CargoTrackingBroadcaster.IDLE_TIMEOUT;
+		assertTrue(broadcaster.accept("node-a", 1, 0));
+		assertTrue(broadcaster.accept("node-b", 1, timeout / 2));
+		assertTrue(broadcaster.accept("node-b", 2, timeout));
+		assertEquals(1, broadcaster.knownNodes());
+	}
+}
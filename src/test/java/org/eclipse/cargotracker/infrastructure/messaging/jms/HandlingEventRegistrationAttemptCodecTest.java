@@ -0,0 +1,84 @@
+package org.eclipse.cargotracker.infrastructure.messaging.jms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.domain.model.voyage.VoyageNumber;
+import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class HandlingEventRegistrationAttemptCodecTest {
+
+	@Test
+	public void testRoundTrip() {
+		HandlingEventRegistrationAttempt attempt = new HandlingEventRegistrationAttempt(new Date(1000),
+				new Date(2000), new TrackingId("ABC123"), new VoyageNumber("0100S"), HandlingEvent.Type.LOAD,
+				new UnLocode("CNHKG"));
+
+		HandlingEventRegistrationAttempt decoded = HandlingEventRegistrationAttemptCodec
+				.decode(HandlingEventRegistrationAttemptCodec.encode(attempt));
+
+		assertEquals(attempt.getRegistrationTime(), decoded.getRegistrationTime());
+		assertEquals(attempt.getCompletionTime(), decoded.getCompletionTime());
+		assertEquals(attempt.getTrackingId(), decoded.getTrackingId());
+		assertEquals(attempt.getVoyageNumber(), decoded.getVoyageNumber());
+		assertEquals(attempt.getType(), decoded.getType());
+		assertEquals(attempt.getUnLocode(), decoded.getUnLocode());
+	}
+
+	@Test
+	public void testWithoutVoyage() {
+		HandlingEventRegistrationAttempt attempt = new HandlingEventRegistrationAttempt(new Date(), new Date(),
+				new TrackingId("XYZ"), null, HandlingEvent.Type.CLAIM, new UnLocode("SESTO"));
+
+		byte[] encoded = HandlingEventRegistrationAttemptCodec.encode(attempt);
+		HandlingEventRegistrationAttempt decoded = HandlingEventRegistrationAttemptCodec.decode(encoded);
+
+		assertNull(decoded.getVoyageNumber());
+		assertEquals(HandlingEvent.Type.CLAIM, decoded.getType());
+		// UN/LOCODEs are shared between decoded attempts.
+		assertSame(decoded.getUnLocode(), HandlingEventRegistrationAttemptCodec.decode(encoded).getUnLocode());
+	}
+
+	@Test
+	public void testUnknownVersionRejected() {
+		assertThrows(MalformedRegistrationAttemptException.class,
+				() -> HandlingEventRegistrationAttemptCodec.decode(new byte[] { 99 }));
+	}
+
+	@Test
+	public void testMalformedPayloadRejected() {
+		byte[] encoded = HandlingEventRegistrationAttemptCodec.encode(new HandlingEventRegistrationAttempt(new Date(),
+				new Date(), new TrackingId("ABC123"), new VoyageNumber("0100S"), HandlingEvent.Type.LOAD,
+				new UnLocode("CNHKG")));
+
+		for (int length = 0; length < encoded.length; length++) {
+			byte[] truncated = Arrays.copyOf(encoded, length);
+			assertThrows(MalformedRegistrationAttemptException.class,
+					() -> HandlingEventRegistrationAttemptCodec.decode(truncated));
+		}
+
+		byte[] badType = encoded.clone();
+		badType[17] = (byte) 200;
+		assertThrows(MalformedRegistrationAttemptException.class,
+				() -> HandlingEventRegistrationAttemptCodec.decode(badType));
+
+		byte[] badUnLocode = encoded.clone();
+		badUnLocode[18] = '#';
+		assertThrows(MalformedRegistrationAttemptException.class,
+				() -> HandlingEventRegistrationAttemptCodec.decode(badUnLocode));
+
+		assertThrows(MalformedRegistrationAttemptException.class,
+				() -> HandlingEventRegistrationAttemptCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+	}
+}
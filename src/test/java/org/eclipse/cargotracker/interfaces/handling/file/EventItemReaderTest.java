@@ -0,0 +1,114 @@
+package org.eclipse.cargotracker.interfaces.handling.file;
+
+import static org.eclipse.cargotracker.application.util.DateUtil.toDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import org.eclipse.cargotracker.domain.model.cargo.TrackingId;
+import org.eclipse.cargotracker.domain.model.handling.HandlingEvent;
+import org.eclipse.cargotracker.domain.model.location.UnLocode;
+import org.eclipse.cargotracker.interfaces.handling.HandlingEventRegistrationAttempt;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+public class EventItemReaderTest {
+
+	private static final String LINE = "2014-03-01 12:00,ABC123,0100S,CNHKG,LOAD";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testCrLfLines() throws Exception {
+		EventItemReader reader = open(LINE + "\r\n" + LINE + "\r\n", 1024);
+
+		assertLine(reader.readItem());
+		assertLine(reader.readItem());
+		assertNull(reader.readItem());
+	}
+
+	@Test
+	public void testMissingTrailingNewline() throws Exception {
+		EventItemReader reader = open(LINE + "\n" + LINE, 1024);
+
+		assertLine(reader.readItem());
+		assertLine(reader.readItem());
+		assertNull(reader.readItem());
+	}
+
+	@Test
+	public void testLinesCrossingWindow() throws Exception {
+		StringBuilder content = new StringBuilder();
+
+		for (int i = 0; i < 10; i++) {
+			content.append(LINE).append('\n');
+		}
+
+		// Not a multiple of the line length, so most lines run past a window.
+		EventItemReader reader = open(content.toString(), 64);
+
+		for (int i = 0; i < 10; i++) {
+			assertLine(reader.readItem());
+		}
+
+		assertNull(reader.readItem());
+	}
+
+	@Test
+	public void testWrongNumberOfFields() throws Exception {
+		EventItemReader reader = open("2014-03-01 12:00,ABC123,CNHKG,LOAD\n" + LINE + ",EXTRA\n" + LINE + "\n", 1024);
+
+		EventLineParseException e = assertThrows(EventLineParseException.class, reader::readItem);
+		assertEquals("2014-03-01 12:00,ABC123,CNHKG,LOAD", e.getLine());
+		assertThrows(EventLineParseException.class, reader::readItem);
+		// Reading goes on with the next line.
+		assertLine(reader.readItem());
+	}
+
+	@Test
+	public void testLineLongerThanWindow() throws Exception {
+		EventItemReader reader = open("x".repeat(200) + "\n" + LINE + "\n", 64);
+
+		EventLineParseException e = assertThrows(EventLineParseException.class, reader::readItem);
+		assertEquals("Line longer than 64 bytes", e.getMessage());
+		// Reading goes on after the whole line.
+		assertLine(reader.readItem());
+		assertNull(reader.readItem());
+	}
+
+	@Test
+	public void testSingleDigitDateFields() throws Exception {
+		EventItemReader reader = open("2014-3-1 9:5,ABC123,0100S,CNHKG,LOAD\n", 1024);
+
+		HandlingEventRegistrationAttempt attempt = (HandlingEventRegistrationAttempt) reader.readItem();
+
+		assertEquals(toDate("2014-03-01", "09:05"), attempt.getCompletionTime());
+	}
+
+	private EventItemReader open(String content, long windowSize) throws Exception {
+		Path file = Files.write(directory.resolve("events.csv"), content.getBytes(StandardCharsets.ISO_8859_1));
+		EventItemReader reader = new EventItemReader(file.toString(), 0, Files.size(file), windowSize,
+				Logger.getLogger(EventItemReaderTest.class.getName()));
+		reader.open(null);
+
+		return reader;
+	}
+
+	private static void assertLine(Object item) {
+		HandlingEventRegistrationAttempt attempt = (HandlingEventRegistrationAttempt) item;
+
+		assertEquals(toDate("2014-03-01", "12:00"), attempt.getCompletionTime());
+		assertEquals(new TrackingId("ABC123"), attempt.getTrackingId());
+		assertEquals("0100S", attempt.getVoyageNumber().getIdString());
+		assertEquals(new UnLocode("CNHKG"), attempt.getUnLocode());
+		assertEquals(HandlingEvent.Type.LOAD, attempt.getType());
+	}
+}
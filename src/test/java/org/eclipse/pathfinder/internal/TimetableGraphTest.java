@@ -0,0 +1,92 @@
+package org.eclipse.pathfinder.internal;
+
+import static org.eclipse.cargotracker.application.util.DateUtil.toDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.pathfinder.api.TransitEdge;
+import org.eclipse.pathfinder.api.TransitPath;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class TimetableGraphTest {
+
+	private final TimetableGraph graph = new TimetableGraph.Builder()
+			// Direct but slow.
+			.addMovement("0301S", "USDAL", "FIHEL", toDate("2014-03-01", "03:30"), toDate("2014-03-08", "15:45"))
+			// Faster, with a stop in Hamburg on the same voyage.
+			.addMovement("0300A", "USDAL", "DEHAM", toDate("2014-03-01", "03:30"), toDate("2014-03-03", "14:00"))
+			.addMovement("0300A", "DEHAM", "SESTO", toDate("2014-03-04", "15:20"), toDate("2014-03-04", "18:40"))
+			.addMovement("0300A", "SESTO", "FIHEL", toDate("2014-03-05", "09:00"), toDate("2014-03-05", "11:15"))
+			// Transfer in Hamburg.
+			.addMovement("0500S", "DEHAM", "FIHEL", toDate("2014-03-04", "06:00"), toDate("2014-03-06", "12:00"))
+			// Departs before the cargo arrives in Hamburg.
+			.addMovement("0600S", "DEHAM", "FIHEL", toDate("2014-03-02", "06:00"), toDate("2014-03-03", "12:00"))
+			.build();
+
+	@Test
+	public void testPathsOrderedByArrival() {
+		List<TransitPath> paths = graph.findEarliestArrivalPaths("USDAL", "FIHEL", toDate("2014-02-28").getTime(),
+				Long.MAX_VALUE, 5);
+
+		assertEquals(3, paths.size());
+
+		List<TransitEdge> fastest = paths.get(0).getTransitEdges();
+		assertEquals(1, fastest.size());
+		assertEquals("0300A", fastest.get(0).getVoyageNumber());
+		assertEquals("USDAL", fastest.get(0).getFromUnLocode());
+		assertEquals("FIHEL", fastest.get(0).getToUnLocode());
+		assertEquals(toDate("2014-03-01", "03:30"), fastest.get(0).getFromDate());
+		assertEquals(toDate("2014-03-05", "11:15"), fastest.get(0).getToDate());
+
+		List<TransitEdge> transfer = paths.get(1).getTransitEdges();
+		assertEquals(2, transfer.size());
+		assertEquals("0300A", transfer.get(0).getVoyageNumber());
+		assertEquals("DEHAM", transfer.get(0).getToUnLocode());
+		assertEquals("0500S", transfer.get(1).getVoyageNumber());
+
+		assertEquals("0301S", paths.get(2).getTransitEdges().get(0).getVoyageNumber());
+	}
+
+	@Test
+	public void testDeadlineAndDepartureRespected() {
+		List<TransitPath> paths = graph.findEarliestArrivalPaths("USDAL", "FIHEL", toDate("2014-02-28").getTime(),
+				toDate("2014-03-07").getTime(), 5);
+
+		assertEquals(2, paths.size());
+
+		paths = graph.findEarliestArrivalPaths("USDAL", "FIHEL", toDate("2014-03-02").getTime(), Long.MAX_VALUE, 5);
+
+		assertTrue(paths.isEmpty());
+	}
+
+	@Test
+	public void testMaxPaths() {
+		assertEquals(1, graph.findEarliestArrivalPaths("USDAL", "FIHEL", 0, Long.MAX_VALUE, 1).size());
+		assertTrue(graph.findEarliestArrivalPaths("XXXXX", "FIHEL", 0, Long.MAX_VALUE, 5).isEmpty());
+	}
+
+	@Test
+	public void testEditReplacesVoyage() {
+		TimetableGraph patched = graph.edit().removeVoyage("0300A")
+				.addMovement("0300A", "USDAL", "FIHEL", toDate("2014-03-01", "03:30"), toDate("2014-03-09", "12:00"))
+				.addMovement("0700S", "SESTO", "NLRTM", toDate("2014-03-10", "08:00"), toDate("2014-03-11", "08:00"))
+				.build();
+
+		List<TransitPath> paths = patched.findEarliestArrivalPaths("USDAL", "FIHEL", toDate("2014-02-28").getTime(),
+				Long.MAX_VALUE, 5);
+
+		assertEquals(2, paths.size());
+		assertEquals("0301S", paths.get(0).getTransitEdges().get(0).getVoyageNumber());
+		assertEquals("0300A", paths.get(1).getTransitEdges().get(0).getVoyageNumber());
+		assertEquals(toDate("2014-03-09", "12:00"), paths.get(1).getTransitEdges().get(0).getToDate());
+		assertTrue(patched.findEarliestArrivalPaths("DEHAM", "NLRTM", 0, Long.MAX_VALUE, 5).isEmpty());
+
+		// The original snapshot is unchanged.
+		assertEquals(3, graph.findEarliestArrivalPaths("USDAL", "FIHEL", toDate("2014-02-28").getTime(),
+				Long.MAX_VALUE, 5).size());
+	}
+}